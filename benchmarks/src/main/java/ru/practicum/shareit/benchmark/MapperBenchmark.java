@@ -0,0 +1,88 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingRow;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemDtoWithBookingAndComments;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestWithItems;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Маппинг всех бронирований, предметов и запросов одного владельца,
+ * у которого 10, 1000 или 100000 бронирований.
+ * Запуск: {@code java -jar benchmarks/target/benchmarks.jar MapperBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int bookings;
+
+    SyntheticData data;
+
+    @Setup
+    public void setUp() {
+        data = SyntheticData.ofBookings(bookings);
+    }
+
+    @Benchmark
+    public List<BookingResponse> bookingResponsesFromEntities() {
+        List<BookingResponse> responses = new ArrayList<>(data.bookings.size());
+        for (Booking booking : data.bookings) {
+            responses.add(BookingMapper.toBookingResponse(booking));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<BookingResponse> bookingResponsesFromRows() {
+        List<BookingResponse> responses = new ArrayList<>(data.rows.size());
+        for (BookingRow row : data.rows) {
+            responses.add(BookingMapper.toBookingResponse(row));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<ItemDtoWithBookingAndComments> itemsWithBookingsAndComments() {
+        List<ItemDtoWithBookingAndComments> items = new ArrayList<>(data.items.size());
+        for (Item item : data.items) {
+            items.add(ItemMapper.toItemDtoWBAC(item, data.bookingPairs, data.comments));
+        }
+        return items;
+    }
+
+    @Benchmark
+    public List<ItemRequestWithItems> requestsWithItems() {
+        List<ItemRequestWithItems> requests = new ArrayList<>(data.requests.size());
+        for (ItemRequest request : data.requests) {
+            requests.add(ItemRequestMapper.toItemRequestWithItems(request, data.requestItems.get(request.getId())));
+        }
+        return requests;
+    }
+
+}
@@ -0,0 +1,143 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingRow;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingSpecifications;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.util.BookingState;
+import ru.practicum.shareit.item.dto.ItemDtoWithBookingAndComments;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestWithItems;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Запросы репозиториев и сервисные методы первой страницы списков на встроенной H2.
+ * Перед замером поднимается контекст сервера с профилем {@code test} и заполняется
+ * владелец с 10, 1000 или 100000 бронированиями.
+ * Запуск: {@code java -jar benchmarks/target/benchmarks.jar QueryBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBenchmark {
+
+    private static final long OWNER_ID = 1L;
+
+    private static final long BOOKER_ID = 2L;
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10", "1000", "100000"})
+    int bookings;
+
+    ConfigurableApplicationContext context;
+
+    BookingRepository bookingRepository;
+
+    BookingService bookingService;
+
+    ItemService itemService;
+
+    ItemRequestService itemRequestService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+                .run();
+        bookingRepository = context.getBean(BookingRepository.class);
+        bookingService = context.getBean(BookingService.class);
+        itemService = context.getBean(ItemService.class);
+        itemRequestService = context.getBean(ItemRequestService.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingRow> findOwnerBookings() {
+        return bookingRepository.findBookings(BookingSpecifications.byItemOwner(OWNER_ID)
+                .and(BookingSpecifications.inStates(Set.of(BookingState.ALL), LocalDateTime.now())), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingResponse> ownerBookingsPage() {
+        return bookingService.getOwnerBookingsAfter(OWNER_ID, BookingState.ALL.name(), null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingResponse> ownerCurrentBookingsPage() {
+        return bookingService.getOwnerBookingsAfter(OWNER_ID, BookingState.CURRENT.name(), null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingResponse> bookerBookingsPage() {
+        return bookingService.getUsersBookingsAfter(BOOKER_ID, BookingState.ALL.name(), null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemDtoWithBookingAndComments> ownerItemsPage() {
+        return itemService.getItemDtoByUserIdAfter(OWNER_ID, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemRequestWithItems> otherUsersRequestsPage() {
+        return itemRequestService.getAllRequestsAfter(OWNER_ID, null, PAGE_SIZE);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        int items = Math.max(1, bookings / SyntheticData.BOOKINGS_PER_ITEM);
+        int half = bookings / 2;
+        jdbcTemplate.execute("INSERT INTO USERS (name, email) " +
+                "SELECT 'user' || X, 'user' || X || '@mail.ru' FROM SYSTEM_RANGE(1, " +
+                (SyntheticData.BOOKERS + 1) + ")");
+        jdbcTemplate.execute("INSERT INTO REQUESTS (created, description, requestor_id) " +
+                "SELECT DATEADD('HOUR', -X, NOW()), 'request', MOD(X, " + SyntheticData.BOOKERS + ") + 2 " +
+                "FROM SYSTEM_RANGE(1, " + items + ")");
+        jdbcTemplate.execute("INSERT INTO ITEMS (name, description, is_available, owner_id, requests_id) " +
+                "SELECT 'item' || X, 'description', TRUE, " + OWNER_ID + ", " +
+                "CASE WHEN MOD(X, 4) = 1 THEN X END FROM SYSTEM_RANGE(1, " + items + ")");
+        jdbcTemplate.execute("INSERT INTO BOOKINGS (start_date, end_date, item_id, booker_id, status, phase) " +
+                "SELECT DATEADD('HOUR', X - " + half + ", NOW()), DATEADD('HOUR', X - " + half + " + 2, NOW()), " +
+                "MOD(X, " + items + ") + 1, MOD(X * 7, " + SyntheticData.BOOKERS + ") + 2, " +
+                "CASE MOD(X, 3) WHEN 0 THEN 'WAITING' WHEN 1 THEN 'APPROVED' ELSE 'REJECTED' END, " +
+                "CASE WHEN X - " + half + " + 2 <= 0 THEN 'FINISHED' WHEN X - " + half + " <= 0 THEN 'ACTIVE' " +
+                "ELSE 'UPCOMING' END FROM SYSTEM_RANGE(1, " + bookings + ")");
+        jdbcTemplate.execute("INSERT INTO COMMENTS (text, item_id, author_id, created) " +
+                "SELECT 'text', MOD(X, " + items + ") + 1, MOD(X, " + SyntheticData.BOOKERS + ") + 2, NOW() " +
+                "FROM SYSTEM_RANGE(1, " + items * SyntheticData.COMMENTS_PER_ITEM + ")");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.item.dto.ItemDtoWithBookingAndComments;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Сериализация ответов в JSON тем же {@link ObjectMapper}, что собирает Spring Boot,
+ * и разбор тела запроса на бронирование. Шлюз пересылает ответы сервера байтами,
+ * поэтому вся работа с JSON на горячем пути приходится на сервер.
+ * Запуск: {@code java -jar benchmarks/target/benchmarks.jar ResponseJsonBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseJsonBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int bookings;
+
+    ObjectMapper objectMapper;
+
+    List<BookingResponse> bookingResponses;
+
+    List<ItemDtoWithBookingAndComments> items;
+
+    byte[] bookingRequest;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        SyntheticData data = SyntheticData.ofBookings(bookings);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        bookingResponses = data.rows.stream().map(BookingMapper::toBookingResponse).collect(Collectors.toList());
+        items = data.items.stream()
+                .map(item -> ItemMapper.toItemDtoWBAC(item, data.bookingPairs, data.comments))
+                .collect(Collectors.toList());
+        bookingRequest = objectMapper.writeValueAsString(BookingMapper.toBookingDto(data.bookings.get(0)))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] writeBookingResponses() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookingResponses);
+    }
+
+    @Benchmark
+    public byte[] writeItemsWithBookingsAndComments() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public BookingDto readBookingRequest() throws IOException {
+        return objectMapper.readValue(bookingRequest, BookingDto.class);
+    }
+
+}
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.Value;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPair;
+import ru.practicum.shareit.booking.dto.BookingRow;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.item.dto.CommentView;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+final class SyntheticData {
+
+    static final int BOOKINGS_PER_ITEM = 100;
+
+    static final int COMMENTS_PER_ITEM = 10;
+
+    static final int BOOKERS = 1000;
+
+    static final int ITEMS_PER_REQUEST = 5;
+
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    final User owner;
+
+    final List<Item> items = new ArrayList<>();
+
+    final List<Booking> bookings = new ArrayList<>();
+
+    final List<BookingRow> rows = new ArrayList<>();
+
+    final Map<Long, BookingPair> bookingPairs = new HashMap<>();
+
+    final Map<Long, List<CommentView>> comments = new HashMap<>();
+
+    final List<ItemRequest> requests = new ArrayList<>();
+
+    final Map<Long, List<ItemDto>> requestItems = new HashMap<>();
+
+    private SyntheticData(int bookingCount) {
+        Random random = new Random(bookingCount);
+        LocalDateTime now = LocalDateTime.of(2023, 6, 1, 12, 0);
+        owner = user(1L);
+        List<User> bookers = new ArrayList<>(BOOKERS);
+        for (long id = 2; id < BOOKERS + 2; id++) {
+            bookers.add(user(id));
+        }
+
+        int itemCount = Math.max(1, bookingCount / BOOKINGS_PER_ITEM);
+        for (long id = 1; id <= itemCount; id++) {
+            ItemRequest request = id % 4 == 1 ? request(id, bookers.get(random.nextInt(BOOKERS)), now) : null;
+            Item item = Item.builder().id(id).name("item" + id).description("description of item " + id)
+                    .available(true).owner(owner).request(request).build();
+            items.add(item);
+            if (request != null) {
+                requests.add(request);
+            }
+            comments.put(id, comments(id, now));
+        }
+
+        for (long id = 1; id <= bookingCount; id++) {
+            Item item = items.get((int) (id % itemCount));
+            User booker = bookers.get(random.nextInt(BOOKERS));
+            LocalDateTime start = now.plusHours(id - bookingCount / 2);
+            Booking booking = Booking.builder().id(id).start(start).end(start.plusHours(2)).item(item)
+                    .booker(booker).status(STATUSES[(int) (id % STATUSES.length)]).build();
+            bookings.add(booking);
+            rows.add(new BookingRow(id, booking.getStart(), booking.getEnd(), booking.getStatus(), item.getId(),
+                    item.getName(), item.getDescription(), item.getAvailable(), owner.getId(),
+                    item.getRequest() == null ? null : item.getRequest().getId(), booker.getId(), booker.getName(),
+                    booker.getEmail()));
+            BookingPair pair = bookingPairs.computeIfAbsent(item.getId(), itemId -> new BookingPair());
+            BookingDto dto = BookingMapper.toBookingDto(booking);
+            if (start.isBefore(now)) {
+                pair.setLastBooking(dto);
+            } else if (pair.getNextBooking() == null) {
+                pair.setNextBooking(dto);
+            }
+        }
+
+        for (ItemRequest request : requests) {
+            requestItems.put(request.getId(), items.stream()
+                    .filter(item -> item.getId() % request.getId() == 0)
+                    .limit(ITEMS_PER_REQUEST)
+                    .map(ItemMapper::toItemDto)
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    static SyntheticData ofBookings(int bookingCount) {
+        return new SyntheticData(bookingCount);
+    }
+
+    private static User user(long id) {
+        return User.builder().id(id).name("user" + id).email("user" + id + "@mail.ru").build();
+    }
+
+    private static ItemRequest request(long id, User requestor, LocalDateTime now) {
+        return ItemRequest.builder().id(id).description("request " + id).requestor(requestor)
+                .created(now.minusHours(id)).build();
+    }
+
+    private static List<CommentView> comments(long itemId, LocalDateTime now) {
+        List<CommentView> itemComments = new ArrayList<>(COMMENTS_PER_ITEM);
+        for (long id = 1; id <= COMMENTS_PER_ITEM; id++) {
+            itemComments.add(new Comment(itemId * COMMENTS_PER_ITEM + id, "comment " + id, "user" + id, itemId,
+                    now.minusDays(id), (long) COMMENTS_PER_ITEM));
+        }
+        return itemComments;
+    }
+
+    @Value
+    private static class Comment implements CommentView {
+
+        Long id;
+
+        String text;
+
+        String authorName;
+
+        Long itemId;
+
+        LocalDateTime created;
+
+        Long total;
+
+    }
+
+}
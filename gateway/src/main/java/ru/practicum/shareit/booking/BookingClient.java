@@ -1,58 +1,74 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.util.BookingState;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory serverRequestFactory, MeterRegistry meterRegistry) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> serverRequestFactory)
+                        .build(),
+                meterRegistry
         );
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size) {
+    public ResponseEntity<Object> getBookings(long userId, Collection<BookingState> states, Integer from, Integer size, String after) {
         Map<String, Object> parameters = Map.of(
-                "state", state.name(),
+                "state", states.stream().map(BookingState::name).collect(Collectors.joining(",")),
                 "from", from,
                 "size", size
         );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        return getPage("?state={state}&from={from}&size={size}", userId, parameters, after);
     }
 
-    public ResponseEntity<Object> getBookingsAllItem(long userId, BookingState state, Integer from, Integer size) {
+    public ResponseEntity<Object> getBookingsAllItem(long userId, Collection<BookingState> states, Integer from, Integer size, String after) {
         Map<String, Object> parameters = Map.of(
-                "state", state.name(),
+                "state", states.stream().map(BookingState::name).collect(Collectors.joining(",")),
                 "from", from,
                 "size", size
         );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        return getPage("/owner?state={state}&from={from}&size={size}", userId, parameters, after);
     }
 
     public ResponseEntity<Object> getBookingById(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
+    public ResponseEntity<Object> getOwnerSummary(long userId) {
+        return get("/owner/summary", userId);
+    }
+
     public ResponseEntity<Object> addBooking(Long userId, BookingDto bookingDto) {
         return post("", userId, bookingDto);
     }
 
+    public ResponseEntity<Object> addBookings(Long userId, List<BookingDto> bookingDtos) {
+        return post("/batch", userId, bookingDtos);
+    }
+
     public ResponseEntity<Object> approve(long userId, Long bookingId, Boolean approved) {
         return patch("/" + bookingId + "?approved=" + approved, userId);
     }
@@ -2,21 +2,23 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.util.BookingState;
-import ru.practicum.shareit.exception.ValidateStateException;
-import ru.practicum.shareit.exception.ValidationException;
 
 import javax.validation.Valid;
+import javax.validation.Validator;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.Positive;
-import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 
 @Validated
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @RequestMapping(path = "/bookings")
 @Slf4j
@@ -24,18 +26,24 @@ public class BookingController {
 
     private final BookingClient bookingClient;
 
+    private final Validator validator;
+
     @PostMapping
     public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") Long userId,
                                  @Valid @RequestBody BookingDto bookingDto) {
-        if (!(bookingDto.getStart().isAfter(LocalDateTime.now()) &&
-                bookingDto.getEnd().isAfter(LocalDateTime.now()) &&
-                bookingDto.getStart().isBefore(bookingDto.getEnd()))) {
-            throw new ValidationException("Неправильно заданна дата");
-        }
+        BookingValidation.validateDates(bookingDto);
         log.info("Бронирование Booking={}", bookingDto.getId());
         return bookingClient.addBooking(userId, bookingDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> createAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                            @RequestBody List<BookingDto> bookingDtos) {
+        BookingValidation.validateBatch(validator, bookingDtos);
+        log.info("Пакетное бронирование {} предметов", bookingDtos.size());
+        return bookingClient.addBookings(userId, bookingDtos);
+    }
+
     @PatchMapping("{bookingId}")
     public ResponseEntity<Object> updateBookingStatus(@RequestHeader("X-Sharer-User-Id") long userId,
                                   @PathVariable("bookingId") Long bookingId,
@@ -51,17 +59,23 @@ public class BookingController {
         return bookingClient.getBookingById(userId, bookingId);
     }
 
+    @GetMapping("/owner/summary")
+    public ResponseEntity<Object> getOwnerSummary(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Получение сводки по бронированиям вещей пользователя id={}", userId);
+        return bookingClient.getOwnerSummary(userId);
+    }
+
     @GetMapping
     public ResponseEntity<Object> findAllUsersBookingByState(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                                   @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
                                                                   @RequestParam(defaultValue = "0")
                                                                   @Min(value = 0, message = "Меньше нуля") int from,
                                                                   @RequestParam(defaultValue = "20")
-                                                                  @Positive int size) {
-        BookingState state = BookingState.from(stateParam)
-                .orElseThrow(() -> new ValidateStateException("Unknown state: " + stateParam));
+                                                                  @Positive int size,
+                                                                  @RequestParam(required = false) String after) {
+        Set<BookingState> states = BookingValidation.toStates(stateParam);
         log.info("Получение списка всех бронирований пользователя id={}", userId);
-        return bookingClient.getBookings(userId, state, from, size);
+        return bookingClient.getBookings(userId, states, from, size, after);
     }
 
     @GetMapping("/owner")
@@ -70,11 +84,11 @@ public class BookingController {
                                                                      @RequestParam(defaultValue = "0")
                                                                          @Min(value = 0, message = "Меньше нуля") int from,
                                                                      @RequestParam(defaultValue = "10")
-                                                                     @Positive int size) {
-        BookingState state = BookingState.from(stateParam)
-                .orElseThrow(() -> new ValidateStateException("Unknown state: " + stateParam));
+                                                                     @Positive int size,
+                                                                     @RequestParam(required = false) String after) {
+        Set<BookingState> states = BookingValidation.toStates(stateParam);
         log.info("Получение списка бронирований для всех вещей пользователя id={}",userId);
-        return bookingClient.getBookingsAllItem(userId, state, from, size);
+        return bookingClient.getBookingsAllItem(userId, states, from, size, after);
     }
 
 }
\ No newline at end of file
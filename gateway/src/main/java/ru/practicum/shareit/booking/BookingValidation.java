@@ -0,0 +1,54 @@
+package ru.practicum.shareit.booking;
+
+import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.util.BookingState;
+import ru.practicum.shareit.exception.ValidateStateException;
+import ru.practicum.shareit.exception.ValidationException;
+
+import javax.validation.Validator;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@UtilityClass
+class BookingValidation {
+
+    static final int MAX_BATCH_SIZE = 100;
+
+    void validateDates(BookingDto bookingDto) {
+        if (!(bookingDto.getStart().isAfter(LocalDateTime.now()) &&
+                bookingDto.getEnd().isAfter(LocalDateTime.now()) &&
+                bookingDto.getStart().isBefore(bookingDto.getEnd()))) {
+            throw new ValidationException("Неправильно заданна дата");
+        }
+    }
+
+    void validateBatch(Validator validator, List<BookingDto> bookingDtos) {
+        if (bookingDtos.isEmpty()) {
+            throw new ValidationException("Список бронирований пуст");
+        }
+        if (bookingDtos.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException(String.format("В пакете не больше %d бронирований, передано %d",
+                    MAX_BATCH_SIZE, bookingDtos.size()));
+        }
+        for (BookingDto bookingDto : bookingDtos) {
+            if (!validator.validate(bookingDto).isEmpty()) {
+                throw new ValidationException(String.format("Некорректное бронирование предмета itemId=%d",
+                        bookingDto.getItemId()));
+            }
+            validateDates(bookingDto);
+        }
+    }
+
+    Set<BookingState> toStates(String stateParam) {
+        Set<BookingState> states = new LinkedHashSet<>();
+        for (String value : stateParam.split(",")) {
+            states.add(BookingState.from(value.trim())
+                    .orElseThrow(() -> new ValidateStateException("Unknown state: " + stateParam)));
+        }
+        return states;
+    }
+
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.util.BookingState;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookingClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    @Autowired
+    public ReactiveBookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                 ClientHttpConnector serverHttpConnector, MeterRegistry meterRegistry) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(serverHttpConnector)
+                        .build(),
+                meterRegistry
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> getBookings(long userId, Collection<BookingState> states, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = Map.of(
+                "state", states.stream().map(BookingState::name).collect(Collectors.joining(",")),
+                "from", from,
+                "size", size
+        );
+        return getPage("?state={state}&from={from}&size={size}", userId, parameters, after);
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingsAllItem(long userId, Collection<BookingState> states, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = Map.of(
+                "state", states.stream().map(BookingState::name).collect(Collectors.joining(",")),
+                "from", from,
+                "size", size
+        );
+        return getPage("/owner?state={state}&from={from}&size={size}", userId, parameters, after);
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingById(long userId, Long bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getOwnerSummary(long userId) {
+        return get("/owner/summary", userId);
+    }
+
+    public Mono<ResponseEntity<Object>> addBooking(Long userId, BookingDto bookingDto) {
+        return post("", userId, bookingDto);
+    }
+
+    public Mono<ResponseEntity<Object>> addBookings(Long userId, List<BookingDto> bookingDtos) {
+        return post("/batch", userId, bookingDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> approve(long userId, Long bookingId, Boolean approved) {
+        return patch("/" + bookingId + "?approved=" + approved, userId);
+    }
+}
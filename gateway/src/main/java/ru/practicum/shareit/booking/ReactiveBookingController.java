@@ -0,0 +1,95 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.util.BookingState;
+
+import javax.validation.Valid;
+import javax.validation.Validator;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Positive;
+import java.util.List;
+import java.util.Set;
+
+@Validated
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@RequestMapping(path = "/bookings")
+@Slf4j
+public class ReactiveBookingController {
+
+    private final ReactiveBookingClient bookingClient;
+
+    private final Validator validator;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                 @Valid @RequestBody BookingDto bookingDto) {
+        BookingValidation.validateDates(bookingDto);
+        log.info("Бронирование Booking={}", bookingDto.getId());
+        return bookingClient.addBooking(userId, bookingDto);
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                            @RequestBody List<BookingDto> bookingDtos) {
+        BookingValidation.validateBatch(validator, bookingDtos);
+        log.info("Пакетное бронирование {} предметов", bookingDtos.size());
+        return bookingClient.addBookings(userId, bookingDtos);
+    }
+
+    @PatchMapping("{bookingId}")
+    public Mono<ResponseEntity<Object>> updateBookingStatus(@RequestHeader("X-Sharer-User-Id") long userId,
+                                  @PathVariable("bookingId") Long bookingId,
+                                  @RequestParam boolean approved) {
+        log.info("Обновление статуса бронирования user{}", userId);
+        return bookingClient.approve(userId, bookingId, approved);
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> findByBookingId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                           @PathVariable("bookingId") Long bookingId) {
+        log.info("Получение бронирования по id={}", bookingId);
+        return bookingClient.getBookingById(userId, bookingId);
+    }
+
+    @GetMapping("/owner/summary")
+    public Mono<ResponseEntity<Object>> getOwnerSummary(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Получение сводки по бронированиям вещей пользователя id={}", userId);
+        return bookingClient.getOwnerSummary(userId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> findAllUsersBookingByState(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                  @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                                                                  @RequestParam(defaultValue = "0")
+                                                                  @Min(value = 0, message = "Меньше нуля") int from,
+                                                                  @RequestParam(defaultValue = "20")
+                                                                  @Positive int size,
+                                                                  @RequestParam(required = false) String after) {
+        Set<BookingState> states = BookingValidation.toStates(stateParam);
+        log.info("Получение списка всех бронирований пользователя id={}", userId);
+        return bookingClient.getBookings(userId, states, from, size, after);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Object>> findAllBookingsForItemsOfUser(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                     @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                                                                     @RequestParam(defaultValue = "0")
+                                                                         @Min(value = 0, message = "Меньше нуля") int from,
+                                                                     @RequestParam(defaultValue = "10")
+                                                                     @Positive int size,
+                                                                     @RequestParam(required = false) String after) {
+        Set<BookingState> states = BookingValidation.toStates(stateParam);
+        log.info("Получение списка бронирований для всех вещей пользователя id={}",userId);
+        return bookingClient.getBookingsAllItem(userId, states, from, size, after);
+    }
+
+}
\ No newline at end of file
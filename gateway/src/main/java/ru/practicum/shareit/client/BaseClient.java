@@ -1,22 +1,42 @@
 package ru.practicum.shareit.client;
 
+import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 public class BaseClient {
+    public static final String UPSTREAM_METRIC = "shareit.gateway.upstream";
+
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade", "content-length");
+
     protected final RestTemplate rest;
 
-    public BaseClient(RestTemplate rest) {
+    private final MeterRegistry meterRegistry;
+
+    public BaseClient(RestTemplate rest, MeterRegistry meterRegistry) {
         this.rest = rest;
+        this.meterRegistry = meterRegistry;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -31,6 +51,15 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    protected ResponseEntity<Object> getPage(String path, long userId, Map<String, Object> parameters, @Nullable String after) {
+        if (after == null) {
+            return get(path, userId, parameters);
+        }
+        Map<String, Object> cursorParameters = new HashMap<>(parameters);
+        cursorParameters.put("after", after);
+        return get(path + "&after={after}", userId, cursorParameters);
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -82,19 +111,78 @@ public class BaseClient {
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "IO_ERROR";
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
+            outcome = String.valueOf(shareitServerResponse.getStatusCodeValue());
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            outcome = String.valueOf(e.getRawStatusCode());
+            return ResponseEntity.status(e.getStatusCode())
+                    .headers(relayedHeaders(e.getResponseHeaders()))
+                    .body(e.getResponseBodyAsByteArray());
+        } finally {
+            sample.stop(upstreamTimer(meterRegistry, getClass(), method, outcome));
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    // Статус сервера проверяется до того, как шлюз зафиксирует ответ; успешное тело копируется потоком уже после
+    protected ResponseEntity<StreamingResponseBody> stream(String path, MediaType accept) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        ClientHttpResponse response;
+        int status;
+        try {
+            ClientHttpRequest request = rest.getRequestFactory()
+                    .createRequest(rest.getUriTemplateHandler().expand(path), HttpMethod.GET);
+            request.getHeaders().setAccept(List.of(accept));
+            response = request.execute();
+            status = response.getRawStatusCode();
+        } catch (IOException e) {
+            sample.stop(upstreamTimer(meterRegistry, getClass(), HttpMethod.GET, "IO_ERROR"));
+            throw new ResourceAccessException("I/O error on GET request for \"" + path + "\": " + e.getMessage(), e);
+        }
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status)
+                .headers(relayedHeaders(response.getHeaders()));
+        if (HttpStatus.Series.resolve(status) != HttpStatus.Series.SUCCESSFUL) {
+            byte[] body = readAndClose(response);
+            sample.stop(upstreamTimer(meterRegistry, getClass(), HttpMethod.GET, String.valueOf(status)));
+            return responseBuilder.body(output -> output.write(body));
+        }
+        return responseBuilder.body(output -> {
+            String outcome = "IO_ERROR";
+            try (response) {
+                StreamUtils.copy(response.getBody(), output);
+                outcome = String.valueOf(status);
+            } finally {
+                sample.stop(upstreamTimer(meterRegistry, getClass(), HttpMethod.GET, outcome));
+            }
+        });
+    }
+
+    private static byte[] readAndClose(ClientHttpResponse response) {
+        try (response) {
+            return StreamUtils.copyToByteArray(response.getBody());
+        } catch (IOException e) {
+            return new byte[0];
+        }
+    }
+
+    static Timer upstreamTimer(MeterRegistry meterRegistry, Class<?> client, HttpMethod method, String status) {
+        return Timer.builder(UPSTREAM_METRIC)
+                .description("Time the gateway waits on the ShareIt server")
+                .tag("client", client.getSimpleName())
+                .tag("method", method.name())
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -105,12 +193,9 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode())
+                .headers(relayedHeaders(response.getHeaders()));
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
@@ -118,4 +203,16 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
-}
+
+    static HttpHeaders relayedHeaders(@Nullable HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders != null) {
+            serverHeaders.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    headers.addAll(name, values);
+                }
+            });
+        }
+        return headers;
+    }
+}
\ No newline at end of file
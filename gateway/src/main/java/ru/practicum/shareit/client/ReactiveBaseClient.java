@@ -0,0 +1,128 @@
+package ru.practicum.shareit.client;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+public class ReactiveBaseClient {
+
+    protected final WebClient webClient;
+
+    private final MeterRegistry meterRegistry;
+
+    public ReactiveBaseClient(WebClient webClient, MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.meterRegistry = meterRegistry;
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
+        return get(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> getPage(String path, long userId, Map<String, Object> parameters,
+                                                   @Nullable String after) {
+        if (after == null) {
+            return get(path, userId, parameters);
+        }
+        Map<String, Object> cursorParameters = new HashMap<>(parameters);
+        cursorParameters.put("after", after);
+        return get(path + "&after={after}", userId, cursorParameters);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, null, body);
+    }
+
+    protected Mono<ResponseEntity<Object>> patch(String path, long userId) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, null, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, null, body);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, null, null);
+    }
+
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                                @Nullable Map<String, Object> parameters,
+                                                                @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> defaultHeaders(headers, userId));
+        WebClient.RequestHeadersSpec<?> exchange = body != null ? request.bodyValue(body) : request;
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return exchange.exchangeToMono(response -> response.toEntity(byte[].class))
+                    .doOnNext(response -> sample.stop(BaseClient.upstreamTimer(meterRegistry, getClass(), method,
+                            String.valueOf(response.getStatusCodeValue()))))
+                    .doOnError(e -> sample.stop(BaseClient.upstreamTimer(meterRegistry, getClass(), method,
+                            "IO_ERROR")));
+        }).map(ReactiveBaseClient::prepareGatewayResponse);
+    }
+
+    // Статус и заголовки сервера становятся статусом ответа шлюза, тело передаётся потоком
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> stream(String path, MediaType accept) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return webClient.get()
+                    .uri(path)
+                    .accept(accept)
+                    .retrieve()
+                    .onStatus(status -> true, response -> Mono.empty())
+                    .toEntityFlux(DataBuffer.class)
+                    .map(response -> ResponseEntity.status(response.getStatusCode())
+                            .headers(BaseClient.relayedHeaders(response.getHeaders()))
+                            .body(response.getBody().doFinally(signal -> sample.stop(BaseClient.upstreamTimer(
+                                    meterRegistry, getClass(), HttpMethod.GET, signal == SignalType.ON_ERROR
+                                            ? "IO_ERROR" : String.valueOf(response.getStatusCodeValue()))))))
+                    .doOnError(e -> sample.stop(BaseClient.upstreamTimer(meterRegistry, getClass(), HttpMethod.GET,
+                            "IO_ERROR")));
+        });
+    }
+
+    private static void defaultHeaders(HttpHeaders headers, Long userId) {
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+    }
+
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode())
+                .headers(BaseClient.relayedHeaders(response.getHeaders()));
+
+        if (response.hasBody()) {
+            return responseBuilder.body(response.getBody());
+        }
+
+        return responseBuilder.build();
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.catalina.util.ServerInfo;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadsConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadsProtocolHandlerCustomizer() {
+        // Tomcat до 10.1 обрабатывает запрос под монитором сокета (SocketProcessorBase): виртуальный поток
+        // закреплён за carrier-потоком всё время запроса и работает медленнее пула потоков
+        if (!tomcatSupportsVirtualThreads()) {
+            throw new IllegalStateException(String.format(
+                    "Профиль virtual-threads требует Tomcat 10.1+ (Spring Boot 3.2+), запущен %s",
+                    ServerInfo.getServerInfo()));
+        }
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        log.info("Запросы обрабатываются в виртуальных потоках");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    static boolean tomcatSupportsVirtualThreads() {
+        String[] version = ServerInfo.getServerNumber().split("\\.");
+        int major = Integer.parseInt(version[0]);
+        return major > 10 || major == 10 && Integer.parseInt(version[1]) >= 1;
+    }
+
+    // Сборка под Java 11, поэтому API Java 21 вызывается через reflection
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            throw new IllegalStateException(String.format(
+                    "Профиль virtual-threads требует JVM 21 или новее, запущено на %s", Runtime.version()), e);
+        }
+    }
+
+}
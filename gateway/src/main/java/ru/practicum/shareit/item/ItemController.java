@@ -2,6 +2,8 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -9,18 +11,24 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.Valid;
+import javax.validation.Validator;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Validated
 @RequiredArgsConstructor
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/items")
 @Slf4j
 public class ItemController {
 
     private final ItemClient itemClient;
 
+    private final Validator validator;
+
     @PostMapping
     public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") Long userId,
                                          @Valid @RequestBody ItemDto itemDto) {
@@ -28,6 +36,14 @@ public class ItemController {
         return itemClient.addItem(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> createAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                            @RequestBody List<ItemDto> itemDtos) {
+        ItemValidation.validateBatch(validator, itemDtos);
+        log.info("Пакетное создание {} предметов пользователем userId={}", itemDtos.size(), userId);
+        return itemClient.addItems(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<Object> update(@PathVariable("itemId") Long itemId,
                           @RequestBody ItemDto itemDto,
@@ -47,9 +63,31 @@ public class ItemController {
     public ResponseEntity<Object> getAllItemsByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                                 @RequestParam(name = "from", defaultValue = "0")
                                                                 @PositiveOrZero int from,
-                                                                @RequestParam(name = "size", defaultValue = "10") @Positive int size) {
+                                                                @RequestParam(name = "size", defaultValue = "10") @Positive int size,
+                                                                @RequestParam(required = false) String after) {
         log.info("Найдены все Items пользователя userId={}", userId);
-        return itemClient.getItemByUserId(userId, from, size);
+        return itemClient.getItemByUserId(userId, from, size, after);
+    }
+
+    @GetMapping("{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                  @PathVariable Long itemId,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime to) {
+        ItemValidation.validatePeriod(from, to);
+        log.info("Запрошен календарь занятости предмета itemId={} с {} по {}", itemId, from, to);
+        return itemClient.getAvailability(userId, itemId, from, to);
+    }
+
+    @GetMapping("{itemId}/comments")
+    public ResponseEntity<Object> getComments(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                              @PathVariable Long itemId,
+                                              @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
+                                              @RequestParam(name = "size", defaultValue = "10") @Positive int size) {
+        log.info("Найдены комментарии к предмету itemId={}", itemId);
+        return itemClient.getComments(userId, itemId, from, size);
     }
 
     @PostMapping("{itemId}/comment")
@@ -65,10 +103,16 @@ public class ItemController {
                                                         @RequestParam String text,
                                                      @RequestParam(name = "from", defaultValue = "0")
                                                      @PositiveOrZero int from,
-                                                     @RequestParam(name = "size", defaultValue = "10") @Positive int size) {
-
+                                                     @RequestParam(name = "size", defaultValue = "10") @Positive int size,
+                                                     @RequestParam(required = false)
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                     LocalDateTime start,
+                                                     @RequestParam(required = false)
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                     LocalDateTime end) {
+        ItemValidation.validateSearchPeriod(start, end);
         log.info("Найден предмет по тексту запроса");
-        return itemClient.search(userId, text, from, size);
+        return itemClient.search(userId, text, start, end, from, size);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.item;
+
+import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+@UtilityClass
+class ItemValidation {
+
+    static final int MAX_BATCH_SIZE = 100;
+
+    void validateBatch(Validator validator, List<ItemDto> itemDtos) {
+        if (itemDtos.isEmpty()) {
+            throw new ValidationException("Список предметов пуст");
+        }
+        if (itemDtos.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException(String.format("В пакете не больше %d предметов, передано %d",
+                    MAX_BATCH_SIZE, itemDtos.size()));
+        }
+        for (ItemDto itemDto : itemDtos) {
+            Set<ConstraintViolation<ItemDto>> violations = validator.validate(itemDto);
+            if (!violations.isEmpty()) {
+                ConstraintViolation<ItemDto> violation = violations.iterator().next();
+                throw new ValidationException(String.format("Некорректный предмет %s: %s %s",
+                        itemDto.getName(), violation.getPropertyPath(), violation.getMessage()));
+            }
+        }
+    }
+
+    void validateSearchPeriod(LocalDateTime start, LocalDateTime end) {
+        if (start == null && end == null) {
+            return;
+        }
+        if (start == null || end == null) {
+            throw new ValidationException("Период доступности задаётся параметрами start и end вместе");
+        }
+        validatePeriod(start, end);
+    }
+
+    void validatePeriod(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Начало периода должно быть раньше его окончания");
+        }
+    }
+
+}
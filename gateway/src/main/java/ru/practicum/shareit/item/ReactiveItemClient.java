@@ -0,0 +1,97 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/items";
+
+    @Autowired
+    public ReactiveItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ClientHttpConnector serverHttpConnector, MeterRegistry meterRegistry) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(serverHttpConnector)
+                        .build(),
+                meterRegistry
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> addItem(Long itemId, ItemDto itemDto) {
+        return post("", itemId, itemDto);
+    }
+
+    public Mono<ResponseEntity<Object>> addItems(Long userId, List<ItemDto> itemDtos) {
+        return post("/batch", userId, itemDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> updateItem(Long userId, ItemDto itemDto, Long itemId) {
+        return patch("/" + itemId, userId, itemDto);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemById(Long userId, Long itemId) {
+        return get("/" + itemId, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemByUserId(Long userId, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size);
+        return getPage("?from={from}&size={size}", userId, parameters, after);
+    }
+
+    public Mono<ResponseEntity<Object>> getComments(Long userId, Long itemId, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size);
+        return get("/" + itemId + "/comments?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to);
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> addComment(Long userId, Long itemId, CommentDto commentDto) {
+        return post("/" + itemId + "/comment", userId, commentDto);
+    }
+
+    public Mono<ResponseEntity<Object>> search(Long userId, String text, LocalDateTime start, LocalDateTime end,
+                                   Integer from, Integer size) {
+        if (start == null) {
+            Map<String, Object> parameters = Map.of(
+                    "text", text,
+                    "from", from,
+                    "size", size);
+            return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        }
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "start", start,
+                "end", end,
+                "from", from,
+                "size", size);
+        return get("/search?text={text}&start={start}&end={end}&from={from}&size={size}", userId, parameters);
+    }
+
+}
\ No newline at end of file
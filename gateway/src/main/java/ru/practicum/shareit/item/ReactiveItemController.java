@@ -0,0 +1,119 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import javax.validation.Valid;
+import javax.validation.Validator;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Validated
+@RequiredArgsConstructor
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/items")
+@Slf4j
+public class ReactiveItemController {
+
+    private final ReactiveItemClient itemClient;
+
+    private final Validator validator;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                         @Valid @RequestBody ItemDto itemDto) {
+        log.info("Создан новый Item itemId={}", itemDto.getId());
+        return itemClient.addItem(userId, itemDto);
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                            @RequestBody List<ItemDto> itemDtos) {
+        ItemValidation.validateBatch(validator, itemDtos);
+        log.info("Пакетное создание {} предметов пользователем userId={}", itemDtos.size(), userId);
+        return itemClient.addItems(userId, itemDtos);
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> update(@PathVariable("itemId") Long itemId,
+                          @RequestBody ItemDto itemDto,
+                          @RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Обновлен Item itemId={}", itemDto.getId());
+        return itemClient.updateItem(userId, itemDto, itemId);
+    }
+
+    @GetMapping("{itemId}")
+    public Mono<ResponseEntity<Object>> getItemById(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                     @PathVariable Long itemId) {
+        log.info("Найден предмет по id = {}", itemId);
+        return itemClient.getItemById(userId, itemId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getAllItemsByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                @RequestParam(name = "from", defaultValue = "0")
+                                                                @PositiveOrZero int from,
+                                                                @RequestParam(name = "size", defaultValue = "10") @Positive int size,
+                                                                @RequestParam(required = false) String after) {
+        log.info("Найдены все Items пользователя userId={}", userId);
+        return itemClient.getItemByUserId(userId, from, size, after);
+    }
+
+    @GetMapping("{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                        @PathVariable Long itemId,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime from,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime to) {
+        ItemValidation.validatePeriod(from, to);
+        log.info("Запрошен календарь занятости предмета itemId={} с {} по {}", itemId, from, to);
+        return itemClient.getAvailability(userId, itemId, from, to);
+    }
+
+    @GetMapping("{itemId}/comments")
+    public Mono<ResponseEntity<Object>> getComments(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                              @PathVariable Long itemId,
+                                              @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
+                                              @RequestParam(name = "size", defaultValue = "10") @Positive int size) {
+        log.info("Найдены комментарии к предмету itemId={}", itemId);
+        return itemClient.getComments(userId, itemId, from, size);
+    }
+
+    @PostMapping("{itemId}/comment")
+    public Mono<ResponseEntity<Object>> createComment(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                    @Valid @RequestBody CommentDto commentDto,
+                                    @PathVariable Long itemId) {
+        log.info("Запрос на создание комментария");
+        return itemClient.addComment(userId, itemId, commentDto);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Object>> getItemsByTextRequest(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                        @RequestParam String text,
+                                                     @RequestParam(name = "from", defaultValue = "0")
+                                                     @PositiveOrZero int from,
+                                                     @RequestParam(name = "size", defaultValue = "10") @Positive int size,
+                                                     @RequestParam(required = false)
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                     LocalDateTime start,
+                                                     @RequestParam(required = false)
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                     LocalDateTime end) {
+        ItemValidation.validateSearchPeriod(start, end);
+        log.info("Найден предмет по тексту запроса");
+        return itemClient.search(userId, text, start, end, from, size);
+    }
+
+}
\ No newline at end of file
@@ -2,6 +2,7 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -15,6 +16,7 @@ import javax.validation.constraints.Positive;
 @RequiredArgsConstructor
 @Slf4j
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/requests")
 @Validated
 public class ItemRequestController {
@@ -39,9 +41,10 @@ public class ItemRequestController {
                                                      @RequestParam(defaultValue = "0")
                                                      @Min(0) Integer from,
                                                      @RequestParam(defaultValue = "10")
-                                                     @Positive Integer size) {
+                                                     @Positive Integer size,
+                                                     @RequestParam(required = false) String after) {
         log.info("Создан запрос на получение всех предметов");
-        return itemRequestClient.getAllRequests(userId, from, size);
+        return itemRequestClient.getAllRequests(userId, from, size, after);
     }
 
     @GetMapping("/{requestId}")
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.request;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemRequestClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/requests";
+
+    @Autowired
+    public ReactiveItemRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                     ClientHttpConnector serverHttpConnector, MeterRegistry meterRegistry) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(serverHttpConnector)
+                        .build(),
+                meterRegistry
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> addRequest(Long itemId, ItemRequestDto itemRequestDto) {
+        return post("", itemId, itemRequestDto);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemsRequestByRequesterId(Long userId) {
+        return get("", userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllRequests(Long userId, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size);
+        return getPage("/all?from={from}&size={size}", userId, parameters, after);
+    }
+
+    public Mono<ResponseEntity<Object>> getRequestById(Long userId, Long requestId) {
+        return get("/" + requestId, userId);
+    }
+
+}
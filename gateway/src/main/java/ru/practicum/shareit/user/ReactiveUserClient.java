@@ -0,0 +1,65 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/users";
+
+    @Autowired
+    public ReactiveUserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ClientHttpConnector serverHttpConnector, MeterRegistry meterRegistry) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(serverHttpConnector)
+                        .build(),
+                meterRegistry
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> addUser(UserDto userDto) {
+        return post("", userDto);
+    }
+
+    public Mono<ResponseEntity<Object>> updateUser(Long userId, UserDto userDto) {
+        return patch("/" + userId, userId, userDto);
+    }
+
+    public Mono<ResponseEntity<Object>> getUserById(Long userId) {
+        return get("/" + userId, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> deleteUser(Long userId) {
+        return delete("/" + userId, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getUsers(Integer size, String after) {
+        if (after == null) {
+            return get("?size={size}", null, Map.of("size", size));
+        }
+        return get("?size={size}&after={after}", null, Map.of("size", size, "after", after));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportUsers() {
+        return stream("/export", MediaType.APPLICATION_NDJSON);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+
+@RequiredArgsConstructor
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/users")
+@Slf4j
+@Validated
+public class ReactiveUserController {
+
+    private final ReactiveUserClient userClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> create(@Valid @RequestBody UserDto userDto) {
+        log.info("Создан пользователь user={}", userDto);
+        return userClient.addUser(userDto);
+    }
+
+    @PatchMapping("/{userId}")
+    public Mono<ResponseEntity<Object>> update(@RequestBody UserDto userDto,
+                          @PathVariable("userId") Long userId) {
+        log.info("Обновлен пользователь userId={}", userId);
+        return userClient.updateUser(userId, userDto);
+    }
+
+    @GetMapping("/{userId}")
+    public Mono<ResponseEntity<Object>> getById(@PathVariable("userId") Long userId) {
+        log.info("Найден пользователь userId={}", userId);
+        return userClient.getUserById(userId);
+    }
+
+    @DeleteMapping("/{userId}")
+    public Mono<ResponseEntity<Object>> delete(@PathVariable("userId") Long userId) {
+        log.info("Удален пользователь userId={}", userId);
+        return userClient.deleteUser(userId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> findUsers(@RequestParam(name = "size", defaultValue = "100") @Positive int size,
+                                                  @RequestParam(required = false) String after) {
+        log.info("Запрос на получение пользователей size={}, after={}", size, after);
+        return userClient.getUsers(size, after);
+    }
+
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportUsers() {
+        log.info("Запрошена выгрузка всех пользователей");
+        return userClient.exportUsers();
+    }
+
+}
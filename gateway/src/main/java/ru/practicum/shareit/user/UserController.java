@@ -2,15 +2,20 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Positive;
 
 @RequiredArgsConstructor
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/users")
 @Slf4j
 @Validated
@@ -44,9 +49,16 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAllUsers() {
-        log.info("Запрос на получение всех пользователей");
-        return userClient.getAllUsers();
+    public ResponseEntity<Object> findUsers(@RequestParam(name = "size", defaultValue = "100") @Positive int size,
+                                            @RequestParam(required = false) String after) {
+        log.info("Запрос на получение пользователей size={}, after={}", size, after);
+        return userClient.getUsers(size, after);
+    }
+
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        log.info("Запрошена выгрузка всех пользователей");
+        return userClient.exportUsers();
     }
 
 }
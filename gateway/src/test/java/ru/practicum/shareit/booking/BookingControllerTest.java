@@ -8,9 +8,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.util.BookingState;
 import ru.practicum.shareit.booking.util.BookingStatus;
 import ru.practicum.shareit.item.ItemClient;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -19,9 +22,19 @@ import ru.practicum.shareit.user.UserClient;
 import ru.practicum.shareit.user.dto.UserDto;
 
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -154,4 +167,90 @@ class BookingControllerTest {
 				.andExpect(status().isInternalServerError());
 	}
 
+	@SneakyThrows
+	@Test
+	void getBookingsPresentUser_whenCursorGiven_thenPassCursorToServer() {
+		mockMvc.perform(get(url)
+						.header("X-Sharer-User-Id", 1)
+						.param("state", "WAITING")
+						.param("size", "10")
+						.param("after", "cursor"))
+				.andExpect(status().isOk());
+
+		verify(bookingClient).getBookings(1L, Set.of(BookingState.WAITING), 0, 10, "cursor");
+	}
+
+	@SneakyThrows
+	@Test
+	void getBookingsForOwner_whenSeveralStates_thenPassAllStatesToServer() {
+		mockMvc.perform(get(url + "/owner")
+						.header("X-Sharer-User-Id", 1)
+						.param("state", "WAITING,current"))
+				.andExpect(status().isOk());
+
+		verify(bookingClient).getBookingsAllItem(1L, Set.of(BookingState.WAITING, BookingState.CURRENT), 0, 10, null);
+	}
+
+	@SneakyThrows
+	@Test
+	void getBookingsPresentUser_whenOneOfStatesUnknown_thenReturnBadRequest() {
+		mockMvc.perform(get(url)
+						.header("X-Sharer-User-Id", 1)
+						.param("state", "WAITING,UNKNOWN"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@SneakyThrows
+	@Test
+	void createBookings_whenOneBookingHasWrongDates_thenReturnBadRequest() {
+		BookingDto valid = bookingDtoBuilder.build();
+		BookingDto wrong = bookingDtoBuilder.start(valid.getEnd()).end(valid.getStart()).build();
+		mockMvc.perform(post(url + "/batch")
+						.contentType("application/json")
+						.header("X-Sharer-User-Id", 1)
+						.content(objectMapper.writeValueAsString(List.of(valid, wrong))))
+				.andExpect(status().isBadRequest());
+
+		verify(bookingClient, never()).addBookings(anyLong(), anyList());
+	}
+
+	@SneakyThrows
+	@Test
+	void createBookings_whenBatchExceedsLimit_thenReturnBadRequest() {
+		mockMvc.perform(post(url + "/batch")
+						.contentType("application/json")
+						.header("X-Sharer-User-Id", 1)
+						.content(objectMapper.writeValueAsString(
+								Collections.nCopies(BookingValidation.MAX_BATCH_SIZE + 1, bookingDtoBuilder.build()))))
+				.andExpect(status().isBadRequest());
+
+		verify(bookingClient, never()).addBookings(anyLong(), anyList());
+	}
+
+	@SneakyThrows
+	@Test
+	void createBookings_whenAllValid_thenPassBatchToServer() {
+		BookingDto bookingDto = bookingDtoBuilder.build();
+		mockMvc.perform(post(url + "/batch")
+						.contentType("application/json")
+						.header("X-Sharer-User-Id", 1)
+						.content(objectMapper.writeValueAsString(List.of(bookingDto, bookingDto))))
+				.andExpect(status().isOk());
+
+		verify(bookingClient).addBookings(1L, List.of(bookingDto, bookingDto));
+	}
+
+	@SneakyThrows
+	@Test
+	void getBookingsPresentUser_whenServerReturnsBytes_thenRelayThemAsJson() {
+		byte[] body = "[{\"id\":1,\"status\":\"WAITING\"}]".getBytes(StandardCharsets.UTF_8);
+		when(bookingClient.getBookings(1L, Set.of(BookingState.ALL), 0, 20, null))
+				.thenReturn(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body));
+
+		mockMvc.perform(get(url)
+						.header("X-Sharer-User-Id", 1))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+				.andExpect(content().bytes(body));
+	}
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.util.BookingState;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = ReactiveBookingController.class)
+class ReactiveBookingControllerTest {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @MockBean
+    ReactiveBookingClient bookingClient;
+
+    String url = "/bookings";
+
+    @Test
+    void create_whenDatesAreValid_thenRelayServerResponse() {
+        String body = "{\"id\":1,\"status\":\"WAITING\"}";
+        when(bookingClient.addBooking(anyLong(), any())).thenReturn(Mono.just(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body.getBytes(StandardCharsets.UTF_8))));
+
+        webTestClient.post().uri(url)
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(booking(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json(body);
+    }
+
+    @Test
+    void create_whenEndBeforeStart_thenReturnBadRequest() {
+        webTestClient.post().uri(url)
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(booking(LocalDateTime.now().plusDays(2), LocalDateTime.now().plusDays(1)))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(bookingClient, never()).addBooking(anyLong(), any());
+    }
+
+    @Test
+    void create_whenItemIdIsMissing_thenReturnFieldErrors() {
+        BookingDto bookingDto = booking(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+        bookingDto.setItemId(null);
+
+        webTestClient.post().uri(url)
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(bookingDto)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$[0].fieldName").isEqualTo("itemId");
+    }
+
+    @Test
+    void createAll_whenListIsEmpty_thenReturnBadRequest() {
+        webTestClient.post().uri(url + "/batch")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void findAllUsersBookingByState_whenStateIsUnknown_thenReturnError() {
+        webTestClient.get().uri(url + "?state=UNSUPPORTED")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Unknown state: UNSUPPORTED");
+    }
+
+    @Test
+    void findAllBookingsForItemsOfUser_whenStatesGiven_thenPassThemToClient() {
+        when(bookingClient.getBookingsAllItem(1L, Set.of(BookingState.WAITING, BookingState.CURRENT), 0, 10, null))
+                .thenReturn(Mono.just(ResponseEntity.ok().body("[]".getBytes(StandardCharsets.UTF_8))));
+
+        webTestClient.get().uri(url + "/owner?state=WAITING,CURRENT")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void findAllUsersBookingByState_whenSizeIsNegative_thenReturnInternalServerError() {
+        webTestClient.get().uri(url + "?size=-1")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().is5xxServerError();
+    }
+
+    private BookingDto booking(LocalDateTime start, LocalDateTime end) {
+        return BookingDto.builder()
+                .itemId(1L)
+                .start(start)
+                .end(end)
+                .build();
+    }
+
+}
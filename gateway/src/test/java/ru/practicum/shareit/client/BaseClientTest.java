@@ -0,0 +1,120 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BaseClientTest {
+
+    private static final String BODY = "[{\"id\":1,\"start\":\"2023-01-01T10:00:00.123456\",\"item\":{\"id\":7}}]";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MockRestServiceServer server;
+
+    private BaseClient client;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate rest = new RestTemplate();
+        server = MockRestServiceServer.bindTo(rest).build();
+        client = new BaseClient(rest, meterRegistry);
+    }
+
+    @Test
+    void get_whenServerRespondsOk_thenRelayBodyBytesAndContentType() {
+        HttpHeaders serverHeaders = new HttpHeaders();
+        serverHeaders.set("X-Next-Cursor", "cursor");
+        serverHeaders.set(HttpHeaders.CONNECTION, "keep-alive");
+        server.expect(requestTo("/bookings?size=10"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON).headers(serverHeaders));
+
+        ResponseEntity<Object> response = client.get("/bookings?size={size}", 1L, Map.of("size", 10));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(BODY.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("cursor", response.getHeaders().getFirst("X-Next-Cursor"));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+        server.verify();
+    }
+
+    @Test
+    void get_whenServerRespondsWithError_thenRelayErrorBodyAndContentType() {
+        String error = "{\"message\":\"Пользователь не найден\"}";
+        server.expect(requestTo("/users/999"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(error));
+
+        ResponseEntity<Object> response = client.get("/users/999");
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertArrayEquals(error.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(1, meterRegistry.get(BaseClient.UPSTREAM_METRIC)
+                .tag("client", "BaseClient")
+                .tag("method", "GET")
+                .tag("status", "404")
+                .timer().count());
+    }
+
+    @Test
+    void stream_whenServerRespondsOk_thenCopyBodyAndRecordUpstreamTime() throws Exception {
+        String lines = "{\"id\":1}\n{\"id\":2}\n";
+        server.expect(requestTo("/users/export"))
+                .andExpect(header(HttpHeaders.ACCEPT, MediaType.APPLICATION_NDJSON_VALUE))
+                .andRespond(withSuccess(lines, MediaType.APPLICATION_NDJSON));
+
+        ResponseEntity<StreamingResponseBody> response = client.stream("/users/export", MediaType.APPLICATION_NDJSON);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals(lines, output.toString(StandardCharsets.UTF_8));
+        assertEquals(1, meterRegistry.get(BaseClient.UPSTREAM_METRIC)
+                .tag("client", "BaseClient")
+                .tag("status", "200")
+                .timer().count());
+        server.verify();
+    }
+
+    @Test
+    void stream_whenServerRespondsWithError_thenRelayErrorInsteadOfStreaming() throws Exception {
+        String error = "{\"message\":\"Ошибка выгрузки\"}";
+        server.expect(requestTo("/users/export"))
+                .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR).contentType(MediaType.APPLICATION_JSON).body(error));
+
+        ResponseEntity<StreamingResponseBody> response = client.stream("/users/export", MediaType.APPLICATION_NDJSON);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(error, output.toString(StandardCharsets.UTF_8));
+        assertEquals(1, meterRegistry.get(BaseClient.UPSTREAM_METRIC)
+                .tag("client", "BaseClient")
+                .tag("status", "500")
+                .timer().count());
+    }
+
+}
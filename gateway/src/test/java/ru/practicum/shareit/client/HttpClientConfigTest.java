@@ -0,0 +1,48 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.http.client.ClientHttpRequestFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class HttpClientConfigTest {
+
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withUserConfiguration(HttpClientConfig.class);
+
+    @Test
+    void connectionManager_whenPropertiesGiven_thenApplyPoolLimits() {
+        contextRunner
+                .withPropertyValues("shareit-server.http.max-total=50", "shareit-server.http.max-per-route=20",
+                        "shareit-server.http.validate-after-inactivity=500ms")
+                .run(context -> {
+                    PoolingHttpClientConnectionManager connectionManager =
+                            context.getBean(PoolingHttpClientConnectionManager.class);
+
+                    assertEquals(50, connectionManager.getMaxTotal());
+                    assertEquals(20, connectionManager.getDefaultMaxPerRoute());
+                    assertEquals(500, connectionManager.getValidateAfterInactivity());
+                    assertNotNull(context.getBean(ClientHttpRequestFactory.class));
+                });
+    }
+
+    @Test
+    void connectionPoolMetrics_thenBindPoolGauges() {
+        contextRunner.run(context -> {
+            MeterRegistry registry = new SimpleMeterRegistry();
+            context.getBean(MeterBinder.class).bindTo(registry);
+
+            assertEquals(200, registry.get("httpcomponents.httpclient.pool.total.max")
+                    .tag("httpclient", HttpClientConfig.POOL_NAME).gauge().value());
+            assertEquals(0, registry.get("httpcomponents.httpclient.pool.total.pending")
+                    .tag("httpclient", HttpClientConfig.POOL_NAME).gauge().value());
+        });
+    }
+
+}
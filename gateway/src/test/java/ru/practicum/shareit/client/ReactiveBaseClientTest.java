@@ -0,0 +1,110 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ReactiveBaseClientTest {
+
+    private static final String BODY = "[{\"id\":1,\"start\":\"2023-01-01T10:00:00.123456\",\"item\":{\"id\":7}}]";
+
+    private final List<ClientRequest> requests = new ArrayList<>();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReactiveBaseClient client(ClientResponse response) {
+        return new ReactiveBaseClient(WebClient.builder()
+                .baseUrl("http://server")
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.just(response);
+                })
+                .build(), meterRegistry);
+    }
+
+    @Test
+    void getPage_whenServerRespondsOk_thenRelayBodyBytesAndContentType() {
+        ReactiveBaseClient client = client(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header("X-Next-Cursor", "cursor")
+                .header(HttpHeaders.CONNECTION, "keep-alive")
+                .body(BODY)
+                .build());
+
+        ResponseEntity<Object> response = client.getPage("/bookings?size={size}", 1L, Map.of("size", 10), "abc")
+                .block();
+
+        assertEquals("http://server/bookings?size=10&after=abc", requests.get(0).url().toString());
+        assertEquals("1", requests.get(0).headers().getFirst("X-Sharer-User-Id"));
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(BODY.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("cursor", response.getHeaders().getFirst("X-Next-Cursor"));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+    }
+
+    @Test
+    void get_whenServerRespondsWithError_thenRelayErrorBodyAndContentType() {
+        String error = "{\"message\":\"Пользователь не найден\"}";
+        ReactiveBaseClient client = client(ClientResponse.create(HttpStatus.NOT_FOUND)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(error)
+                .build());
+
+        ResponseEntity<Object> response = client.get("/users/999").block();
+
+        assertFalse(requests.get(0).headers().containsKey("X-Sharer-User-Id"));
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertArrayEquals(error.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(1, meterRegistry.get(BaseClient.UPSTREAM_METRIC)
+                .tag("client", "ReactiveBaseClient")
+                .tag("method", "GET")
+                .tag("status", "404")
+                .timer().count());
+    }
+
+    @Test
+    void stream_whenServerRespondsWithError_thenRelayStatusAndRecordUpstreamTime() {
+        String error = "{\"message\":\"Ошибка выгрузки\"}";
+        ReactiveBaseClient client = client(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(error)
+                .build());
+
+        ResponseEntity<Flux<DataBuffer>> response = client.stream("/users/export", MediaType.APPLICATION_NDJSON)
+                .block();
+        String body = DataBufferUtils.join(response.getBody())
+                .map(buffer -> buffer.toString(StandardCharsets.UTF_8))
+                .block();
+
+        assertEquals(List.of(MediaType.APPLICATION_NDJSON), requests.get(0).headers().getAccept());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(error, body);
+        assertEquals(1, meterRegistry.get(BaseClient.UPSTREAM_METRIC)
+                .tag("client", "ReactiveBaseClient")
+                .tag("status", "500")
+                .timer().count());
+    }
+
+}
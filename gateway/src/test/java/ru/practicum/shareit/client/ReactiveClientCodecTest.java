@@ -0,0 +1,73 @@
+package ru.practicum.shareit.client;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+import ru.practicum.shareit.request.ReactiveItemRequestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("reactive")
+class ReactiveClientCodecTest {
+
+    private static final byte[] LARGE_PAGE = largePage(1024 * 1024);
+
+    private static DisposableServer server;
+
+    @Autowired
+    ReactiveItemRequestClient itemRequestClient;
+
+    @BeforeAll
+    static void startServer() {
+        server = HttpServer.create()
+                .runOn(LoopResources.create("large-page-server"))
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get("/requests/all", (request, response) -> response
+                        .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                        .sendByteArray(Mono.just(LARGE_PAGE))))
+                .bindNow();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.disposeNow();
+    }
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.port());
+    }
+
+    @Test
+    void getAllRequests_whenPageExceedsDefaultCodecBuffer_thenRelayWholeBody() {
+        ResponseEntity<Object> response = itemRequestClient.getAllRequests(1L, 0, 1000, null).block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(LARGE_PAGE, (byte[]) response.getBody());
+    }
+
+    private static byte[] largePage(int size) {
+        char[] name = new char[size];
+        Arrays.fill(name, 'a');
+        return ("[{\"id\":1,\"description\":\"" + new String(name) + "\"}]").getBytes(StandardCharsets.UTF_8);
+    }
+
+}
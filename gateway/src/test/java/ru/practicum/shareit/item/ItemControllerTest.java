@@ -16,8 +16,16 @@ import ru.practicum.shareit.request.ItemRequestClient;
 import ru.practicum.shareit.user.UserClient;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.Collections;
+import java.util.List;
+
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -162,4 +170,59 @@ class ItemControllerTest {
                 .andExpect(status().isInternalServerError());
     }
 
-}
\ No newline at end of file
+    @SneakyThrows
+    @Test
+    void createItems_whenOneItemNameIsBlank_thenReturnBadRequest() {
+        ItemDto blank = ItemDto.builder().name(" ").description("desc").available(true).build();
+        mockMvc.perform(post(url + "/batch")
+                        .contentType("application/json")
+                        .header("X-Sharer-User-Id", 1)
+                        .content(objectMapper.writeValueAsString(List.of(itemDto, blank))))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code", is(400)));
+
+        verify(itemClient, never()).addItems(anyLong(), anyList());
+    }
+
+    @SneakyThrows
+    @Test
+    void createItems_whenBatchExceedsLimit_thenReturnBadRequest() {
+        mockMvc.perform(post(url + "/batch")
+                        .contentType("application/json")
+                        .header("X-Sharer-User-Id", 1)
+                        .content(objectMapper.writeValueAsString(
+                                Collections.nCopies(ItemValidation.MAX_BATCH_SIZE + 1, itemDto))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code", is(400)));
+
+        verify(itemClient, never()).addItems(anyLong(), anyList());
+    }
+
+    @SneakyThrows
+    @Test
+    void getAvailability_whenFromIsNotBeforeTo_thenReturnBadRequest() {
+        mockMvc.perform(get(url + "/1/availability")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("from", "2030-01-02T00:00:00")
+                        .param("to", "2030-01-01T00:00:00"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).getAvailability(anyLong(), anyLong(), any(), any());
+    }
+
+    @SneakyThrows
+    @Test
+    void getItemsByTextRequest_whenOnlyStartIsGiven_thenReturnBadRequest() {
+        mockMvc.perform(get(url + "/search")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("text", "drill")
+                        .param("start", "2030-01-01T00:00:00"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).search(anyLong(), any(), any(), any(), any(), any());
+    }
+
+}
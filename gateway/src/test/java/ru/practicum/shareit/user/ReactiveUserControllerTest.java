@@ -0,0 +1,71 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = ReactiveUserController.class)
+class ReactiveUserControllerTest {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @MockBean
+    ReactiveUserClient userClient;
+
+    String url = "/users";
+
+    @Test
+    void findUsers_whenSizeIsMissing_thenRequestDefaultPage() {
+        when(userClient.getUsers(100, null)).thenReturn(Mono.just(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("[]".getBytes(StandardCharsets.UTF_8))));
+
+        webTestClient.get().uri(url)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("[]");
+        verify(userClient).getUsers(100, null);
+    }
+
+    @Test
+    void findUsers_whenSizeIsNotPositive_thenNeverCallServer() {
+        webTestClient.get().uri(url + "?size=0")
+                .exchange()
+                .expectStatus().is5xxServerError();
+
+        verify(userClient, never()).getUsers(anyInt(), any());
+    }
+
+    @Test
+    void exportUsers_thenRelayServerLines() {
+        DefaultDataBufferFactory buffers = new DefaultDataBufferFactory();
+        Flux<DataBuffer> lines = Flux.just("{\"id\":1}\n", "{\"id\":2}\n")
+                .map(line -> buffers.wrap(line.getBytes(StandardCharsets.UTF_8)));
+        when(userClient.exportUsers())
+                .thenReturn(Mono.just(ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(lines)));
+
+        webTestClient.get().uri(url + "/export")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).isEqualTo("{\"id\":1}\n{\"id\":2}\n");
+    }
+
+}
@@ -7,8 +7,21 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.user.dto.UserDto;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -86,4 +99,50 @@ class UserControllerTest {
                 .getContentAsString();
     }
 
-}
\ No newline at end of file
+    @SneakyThrows
+    @Test
+    void findUsers_whenCursorGiven_thenRelayPageWithSize() {
+        when(userClient.getUsers(2, "cursor")).thenReturn(ResponseEntity.ok()
+                .header("X-Next-Cursor", "next")
+                .body("[]".getBytes(StandardCharsets.UTF_8)));
+
+        mockMvc.perform(get(url)
+                        .param("size", "2")
+                        .param("after", "cursor"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"));
+        verify(userClient).getUsers(2, "cursor");
+    }
+
+    @SneakyThrows
+    @Test
+    void findUsers_whenSizeIsNotPositive_thenReturnInternalServerError() {
+        mockMvc.perform(get(url).param("size", "0"))
+                .andExpect(status().isInternalServerError());
+
+        verify(userClient, never()).getUsers(anyInt(), any());
+    }
+
+    @SneakyThrows
+    @Test
+    void exportUsers_thenCopyServerStreamToResponse() {
+        String lines = "{\"id\":1}\n{\"id\":2}\n";
+        StreamingResponseBody stream = output -> output.write(lines.getBytes(StandardCharsets.UTF_8));
+        when(userClient.exportUsers())
+                .thenReturn(ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(stream));
+
+        MvcResult result = mockMvc.perform(get(url + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertEquals(lines, body);
+    }
+
+}
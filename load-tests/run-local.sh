@@ -0,0 +1,34 @@
+#!/bin/bash
+# Собирает проект, поднимает сервер и шлюз из jar и запускает нагрузочный прогон.
+# По умолчанию сервер работает на H2 (профиль ci). Для Postgres:
+#   docker-compose up -d db
+#   SERVER_PROFILE=default SPRING_DATASOURCE_URL=jdbc:postgresql://localhost:6541/shareit \
+#   POSTGRES_USER=root POSTGRES_PASSWORD=root load-tests/run-local.sh
+# Параметры прогона передаются как системные свойства: load-tests/run-local.sh -Dload.duration=120s
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+SERVER_PROFILE=${SERVER_PROFILE:-ci}
+LOGS=load-tests/target
+
+if [ "${SKIP_BUILD:-false}" != "true" ]; then
+  mvn -B -q package -DskipTests
+fi
+
+java -jar server/target/shareit-server-*-exec.jar --spring.profiles.active="$SERVER_PROFILE" > "$LOGS/server.log" 2>&1 &
+SERVER_PID=$!
+java -jar gateway/target/shareit-gateway-*.jar > "$LOGS/gateway.log" 2>&1 &
+GATEWAY_PID=$!
+trap 'kill $SERVER_PID $GATEWAY_PID 2>/dev/null || true' EXIT
+
+for port in 9090 8080; do
+  for _ in $(seq 1 120); do
+    if curl -sf "http://localhost:$port/actuator/health" > /dev/null; then
+      break
+    fi
+    sleep 1
+  done
+  curl -sf "http://localhost:$port/actuator/health" > /dev/null || { echo "Порт $port не поднялся, см. $LOGS"; exit 1; }
+done
+
+java "$@" -jar load-tests/target/load-tests.jar
@@ -0,0 +1,174 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Заполняет стенд через публичный API шлюза: пользователи делятся пополам на владельцев
+ * и арендаторов, бронирования раскладываются по непересекающимся слотам предметов,
+ * каждое второе из оставшихся после ожидания подтверждается или отклоняется владельцем.
+ */
+class DataSeeder {
+
+    static final List<String> WORDS = List.of("дрель", "пила", "лестница", "палатка", "велосипед", "самокат",
+            "проектор", "шуруповерт", "байдарка", "генератор");
+
+    private static final int BATCH = 100;
+
+    private static final int SLOT_HOURS = 3;
+
+    private final ShareItClient client;
+
+    private final LoadConfig config;
+
+    private final Random random;
+
+    private final String run = Long.toString(System.currentTimeMillis(), 36);
+
+    DataSeeder(ShareItClient client, LoadConfig config) {
+        this.client = client;
+        this.config = config;
+        this.random = new Random(config.getSeed());
+    }
+
+    DataSet seed() {
+        if (config.getUsers() < 2 || config.getItems() < 1) {
+            throw new IllegalArgumentException("Нужно хотя бы два пользователя и один предмет");
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(config.getThreads());
+        try {
+            List<Long> users = parallel(executor, config.getUsers(), i -> () -> client.post("/users", null,
+                    Map.of("name", "load" + i, "email", "load-" + run + "-" + i + "@mail.ru")).get("id").asLong());
+            List<Long> owners = users.subList(0, users.size() / 2);
+            List<Long> bookers = users.subList(users.size() / 2, users.size());
+
+            List<Long> requests = parallel(executor, config.getRequests(), i -> () -> client.post("/requests",
+                    bookers.get(i % bookers.size()), Map.of("description", "нужна " + word(i))).get("id").asLong());
+
+            Map<Long, Long> itemOwners = createItems(executor, owners, requests);
+            List<Long> itemIds = new ArrayList<>(itemOwners.keySet());
+            Map<Long, Long> bookingOwners = createBookings(executor, bookers, itemIds, itemOwners);
+            reviewBookings(executor, bookingOwners);
+
+            System.out.printf("Стенд заполнен: пользователей %d, запросов %d, предметов %d, бронирований %d%n",
+                    users.size(), requests.size(), itemIds.size(), bookingOwners.size());
+            return new DataSet(List.copyOf(owners), List.copyOf(bookers), WORDS, itemIds.size(),
+                    bookingOwners.size(), requests.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<Long, Long> createItems(ExecutorService executor, List<Long> owners, List<Long> requests) {
+        Map<Long, List<Map<String, Object>>> itemsByOwner = new LinkedHashMap<>();
+        for (int i = 0; i < config.getItems(); i++) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("name", word(i) + " " + i);
+            item.put("description", "Сдается " + word(i + 1) + " и " + word(i));
+            item.put("available", true);
+            if (!requests.isEmpty() && i % 4 == 0) {
+                item.put("requestId", requests.get(random.nextInt(requests.size())));
+            }
+            itemsByOwner.computeIfAbsent(owners.get(i % owners.size()), owner -> new ArrayList<>()).add(item);
+        }
+        List<Callable<Map<Long, Long>>> batches = new ArrayList<>();
+        itemsByOwner.forEach((owner, items) -> {
+            for (int from = 0; from < items.size(); from += BATCH) {
+                List<Map<String, Object>> batch = items.subList(from, Math.min(items.size(), from + BATCH));
+                batches.add(() -> {
+                    Map<Long, Long> created = new LinkedHashMap<>();
+                    client.post("/items/batch", owner, batch).forEach(item -> created.put(item.get("id").asLong(), owner));
+                    return created;
+                });
+            }
+        });
+        Map<Long, Long> itemOwners = new LinkedHashMap<>();
+        invokeAll(executor, batches).forEach(itemOwners::putAll);
+        return itemOwners;
+    }
+
+    private Map<Long, Long> createBookings(ExecutorService executor, List<Long> bookers, List<Long> itemIds,
+                                           Map<Long, Long> itemOwners) {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        Map<Long, List<Map<String, Object>>> bookingsByBooker = new LinkedHashMap<>();
+        for (int i = 0; i < config.getBookings(); i++) {
+            LocalDateTime start = base.plusHours((long) (i / itemIds.size()) * SLOT_HOURS);
+            bookingsByBooker.computeIfAbsent(bookers.get(i % bookers.size()), booker -> new ArrayList<>())
+                    .add(Map.of("itemId", itemIds.get(i % itemIds.size()), "start", start.toString(),
+                            "end", start.plusHours(SLOT_HOURS - 1).toString()));
+        }
+        List<Callable<Map<Long, Long>>> batches = new ArrayList<>();
+        bookingsByBooker.forEach((booker, bookings) -> {
+            for (int from = 0; from < bookings.size(); from += BATCH) {
+                List<Map<String, Object>> batch = bookings.subList(from, Math.min(bookings.size(), from + BATCH));
+                batches.add(() -> {
+                    Map<Long, Long> created = new LinkedHashMap<>();
+                    for (JsonNode booking : client.post("/bookings/batch", booker, batch)) {
+                        created.put(booking.get("id").asLong(), itemOwners.get(booking.get("item").get("id").asLong()));
+                    }
+                    return created;
+                });
+            }
+        });
+        Map<Long, Long> bookingOwners = new LinkedHashMap<>();
+        invokeAll(executor, batches).forEach(bookingOwners::putAll);
+        return bookingOwners;
+    }
+
+    private void reviewBookings(ExecutorService executor, Map<Long, Long> bookingOwners) {
+        List<Map.Entry<Long, Long>> bookings = new ArrayList<>(bookingOwners.entrySet());
+        List<Callable<Boolean>> reviews = new ArrayList<>();
+        for (int i = 0; i < bookings.size(); i++) {
+            if (i % 3 == 0) {
+                continue;
+            }
+            Map.Entry<Long, Long> booking = bookings.get(i);
+            boolean approved = i % 3 == 1;
+            reviews.add(() -> client.patch("/bookings/" + booking.getKey() + "?approved=" + approved,
+                    booking.getValue()) != null);
+        }
+        invokeAll(executor, reviews);
+    }
+
+    private static String word(int index) {
+        return WORDS.get(index % WORDS.size());
+    }
+
+    private static <T> List<T> parallel(ExecutorService executor, int count, IntFunction<Callable<T>> task) {
+        List<Callable<T>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(task.apply(i));
+        }
+        return invokeAll(executor, tasks);
+    }
+
+    private static <T> List<T> invokeAll(ExecutorService executor, List<Callable<T>> tasks) {
+        try {
+            List<T> results = new ArrayList<>(tasks.size());
+            for (Future<T> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Не удалось заполнить стенд: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.load;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+class DataSet {
+
+    List<Long> ownerIds;
+
+    List<Long> bookerIds;
+
+    List<String> searchWords;
+
+    int items;
+
+    int bookings;
+
+    int requests;
+
+}
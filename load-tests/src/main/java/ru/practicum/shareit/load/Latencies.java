@@ -0,0 +1,55 @@
+package ru.practicum.shareit.load;
+
+import java.util.Arrays;
+
+class Latencies {
+
+    private long[] values = new long[1024];
+
+    private int size;
+
+    private long errors;
+
+    void record(long nanos, boolean failed) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = nanos;
+        if (failed) {
+            errors++;
+        }
+    }
+
+    void addAll(Latencies other) {
+        if (size + other.size > values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length * 2, size + other.size));
+        }
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+        errors += other.errors;
+    }
+
+    OperationStats toStats(String operation, double seconds) {
+        long[] sorted = Arrays.copyOf(values, size);
+        Arrays.sort(sorted);
+        return OperationStats.builder()
+                .operation(operation)
+                .count(size)
+                .errors(errors)
+                .throughput(size / seconds)
+                .p50(millis(sorted, 0.50))
+                .p90(millis(sorted, 0.90))
+                .p99(millis(sorted, 0.99))
+                .max(sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0)
+                .build();
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+}
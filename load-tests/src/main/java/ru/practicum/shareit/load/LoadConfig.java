@@ -0,0 +1,80 @@
+package ru.practicum.shareit.load;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Value
+@Builder
+public class LoadConfig {
+
+    private static final String PREFIX = "load.";
+
+    String baseUrl;
+
+    int users;
+
+    int items;
+
+    int bookings;
+
+    int requests;
+
+    int threads;
+
+    Duration warmup;
+
+    Duration duration;
+
+    Map<Operation, Integer> mix;
+
+    Path reportDir;
+
+    String label;
+
+    long seed;
+
+    public static LoadConfig fromSystemProperties() {
+        return LoadConfig.builder()
+                .baseUrl(property("base-url", "http://localhost:8080"))
+                .users(Integer.parseInt(property("users", "200")))
+                .items(Integer.parseInt(property("items", "1000")))
+                .bookings(Integer.parseInt(property("bookings", "5000")))
+                .requests(Integer.parseInt(property("requests", "200")))
+                .threads(Integer.parseInt(property("threads", "16")))
+                .warmup(Duration.parse("PT" + property("warmup", "10s")))
+                .duration(Duration.parse("PT" + property("duration", "60s")))
+                .mix(parseMix(property("mix", Operation.defaultMix())))
+                .reportDir(Path.of(property("report-dir", "target/load-reports")))
+                .label(System.getProperty(PREFIX + "label"))
+                .seed(Long.parseLong(property("seed", "42")))
+                .build();
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException(String.format("Некорректная доля операции: %s", entry));
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.byName(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("В смеси нагрузки нет ни одной операции");
+        }
+        return weights;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+
+}
@@ -0,0 +1,121 @@
+package ru.practicum.shareit.load;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Закрытая модель нагрузки: каждый поток без пауз шлет следующий запрос из взвешенной смеси.
+ * Задержки фиксируются только после прогрева, ошибкой считается любой ответ 4xx/5xx или сбой соединения.
+ */
+class LoadDriver {
+
+    private final ShareItClient client;
+
+    private final LoadConfig config;
+
+    private final DataSet data;
+
+    private final Operation[] operations;
+
+    private final int[] cumulativeWeights;
+
+    LoadDriver(ShareItClient client, LoadConfig config, DataSet data) {
+        this.client = client;
+        this.config = config;
+        this.data = data;
+        this.operations = config.getMix().keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += config.getMix().get(operations[i]);
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    LoadReport run(String label) throws InterruptedException {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long measureFrom = System.nanoTime() + config.getWarmup().toNanos();
+        long measureTo = measureFrom + config.getDuration().toNanos();
+        List<Map<Operation, Latencies>> recorded = new ArrayList<>();
+        CountDownLatch finished = new CountDownLatch(config.getThreads());
+        for (int t = 0; t < config.getThreads(); t++) {
+            Map<Operation, Latencies> latencies = new EnumMap<>(Operation.class);
+            recorded.add(latencies);
+            Random random = new Random(config.getSeed() + t);
+            Thread worker = new Thread(() -> {
+                try {
+                    drive(random, latencies, measureFrom, measureTo);
+                } finally {
+                    finished.countDown();
+                }
+            }, "load-" + t);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        finished.await();
+        return report(label, startedAt, recorded);
+    }
+
+    private void drive(Random random, Map<Operation, Latencies> latencies, long measureFrom, long measureTo) {
+        long now = System.nanoTime();
+        while (now < measureTo) {
+            Operation operation = nextOperation(random);
+            Operation.Call call = operation.next(data, random);
+            boolean failed;
+            long started = System.nanoTime();
+            try {
+                failed = client.get(call.getPath(), call.getUserId()) >= 400;
+            } catch (RuntimeException e) {
+                failed = true;
+            }
+            now = System.nanoTime();
+            if (started >= measureFrom && now <= measureTo) {
+                latencies.computeIfAbsent(operation, key -> new Latencies()).record(now - started, failed);
+            }
+        }
+    }
+
+    private Operation nextOperation(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private LoadReport report(String label, LocalDateTime startedAt, List<Map<Operation, Latencies>> recorded) {
+        double seconds = config.getDuration().toMillis() / 1000.0;
+        List<OperationStats> operationStats = new ArrayList<>();
+        Latencies total = new Latencies();
+        for (Operation operation : operations) {
+            Latencies merged = new Latencies();
+            recorded.forEach(latencies -> {
+                if (latencies.containsKey(operation)) {
+                    merged.addAll(latencies.get(operation));
+                }
+            });
+            operationStats.add(merged.toStats(operation.getKey(), seconds));
+            total.addAll(merged);
+        }
+        return LoadReport.builder()
+                .label(label)
+                .startedAt(startedAt)
+                .baseUrl(config.getBaseUrl())
+                .threads(config.getThreads())
+                .durationSeconds(config.getDuration().toSeconds())
+                .items(data.getItems())
+                .bookings(data.getBookings())
+                .requests(data.getRequests())
+                .operations(operationStats)
+                .total(total.toStats("total", seconds))
+                .build();
+    }
+
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+@Value
+@Builder
+@Jacksonized
+public class LoadReport {
+
+    static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    String label;
+
+    LocalDateTime startedAt;
+
+    String baseUrl;
+
+    int threads;
+
+    long durationSeconds;
+
+    int items;
+
+    int bookings;
+
+    int requests;
+
+    List<OperationStats> operations;
+
+    OperationStats total;
+
+    static LoadReport read(Path path) throws IOException {
+        return MAPPER.readValue(path.toFile(), LoadReport.class);
+    }
+
+    Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path json = directory.resolve(label + ".json");
+        MAPPER.writeValue(json.toFile(), this);
+        Files.writeString(directory.resolve(label + ".md"), toMarkdown(), StandardCharsets.UTF_8);
+        return json;
+    }
+
+    String toMarkdown() {
+        StringBuilder markdown = new StringBuilder()
+                .append(String.format("## %s%n%n", label))
+                .append(String.format("%s, %d потоков, %d с, предметов %d, бронирований %d, запросов %d%n%n",
+                        baseUrl, threads, durationSeconds, items, bookings, requests))
+                .append("| Операция | Запросов | Ошибок | RPS | p50, мс | p90, мс | p99, мс | max, мс |\n")
+                .append("|---|---:|---:|---:|---:|---:|---:|---:|\n");
+        for (OperationStats stats : operations) {
+            markdown.append(row(stats));
+        }
+        return markdown.append(row(total)).toString();
+    }
+
+    private static String row(OperationStats stats) {
+        return String.format(Locale.ROOT, "| %s | %d | %d | %.1f | %.2f | %.2f | %.2f | %.2f |%n",
+                stats.getOperation(), stats.getCount(), stats.getErrors(), stats.getThroughput(),
+                stats.getP50(), stats.getP90(), stats.getP99(), stats.getMax());
+    }
+
+}
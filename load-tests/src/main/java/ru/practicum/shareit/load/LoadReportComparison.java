@@ -0,0 +1,62 @@
+package ru.practicum.shareit.load;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Сравнивает два отчета нагрузочного прогона и печатает разницу p50/p99/RPS в markdown.
+ * Запуск: {@code java -cp load-tests/target/load-tests.jar ru.practicum.shareit.load.LoadReportComparison base.json new.json}
+ */
+public final class LoadReportComparison {
+
+    private LoadReportComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Ожидаются два пути к отчетам: базовый и новый");
+        }
+        System.out.print(compare(LoadReport.read(Path.of(args[0])), LoadReport.read(Path.of(args[1]))));
+    }
+
+    static String compare(LoadReport base, LoadReport current) {
+        Map<String, OperationStats> baseStats = byOperation(base);
+        StringBuilder markdown = new StringBuilder()
+                .append(String.format("## %s → %s%n%n", base.getLabel(), current.getLabel()))
+                .append("| Операция | p50, мс | p99, мс | RPS | Ошибок |\n")
+                .append("|---|---|---|---|---|\n");
+        for (OperationStats stats : byOperation(current).values()) {
+            OperationStats before = baseStats.get(stats.getOperation());
+            if (before == null) {
+                continue;
+            }
+            markdown.append(String.format(Locale.ROOT, "| %s | %s | %s | %s | %d → %d |%n", stats.getOperation(),
+                    delta(before, stats, OperationStats::getP50), delta(before, stats, OperationStats::getP99),
+                    delta(before, stats, OperationStats::getThroughput), before.getErrors(), stats.getErrors()));
+        }
+        return markdown.toString();
+    }
+
+    private static Map<String, OperationStats> byOperation(LoadReport report) {
+        List<OperationStats> stats = new ArrayList<>(report.getOperations());
+        stats.add(report.getTotal());
+        return stats.stream().collect(Collectors.toMap(OperationStats::getOperation, Function.identity(),
+                (first, second) -> first, LinkedHashMap::new));
+    }
+
+    private static String delta(OperationStats before, OperationStats after, ToDoubleFunction<OperationStats> metric) {
+        double was = metric.applyAsDouble(before);
+        double now = metric.applyAsDouble(after);
+        String change = was == 0 ? "—" : String.format(Locale.ROOT, "%+.1f%%", (now - was) * 100 / was);
+        return String.format(Locale.ROOT, "%.2f → %.2f (%s)", was, now, change);
+    }
+
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.load;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.stream.Collectors;
+
+/**
+ * Нагрузочный прогон шлюз → сервер → БД. Параметры задаются системными свойствами {@code load.*},
+ * отчет пишется в {@code load.report-dir} как {@code <label>.json} и {@code <label>.md};
+ * по умолчанию метка — короткий хеш текущего коммита.
+ * Стенд с H2 поднимает {@code load-tests/run-local.sh}, сравнение двух отчетов — {@link LoadReportComparison}.
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadConfig config = LoadConfig.fromSystemProperties();
+        ShareItClient client = new ShareItClient(config.getBaseUrl());
+        DataSet data = new DataSeeder(client, config).seed();
+
+        System.out.printf("Прогрев %d с, замер %d с, потоков %d, смесь %s%n", config.getWarmup().toSeconds(),
+                config.getDuration().toSeconds(), config.getThreads(), config.getMix().entrySet().stream()
+                        .map(entry -> entry.getKey().getKey() + ":" + entry.getValue())
+                        .collect(Collectors.joining(",")));
+        LoadReport report = new LoadDriver(client, config, data).run(label(config));
+        Path json = report.write(config.getReportDir());
+
+        System.out.println();
+        System.out.print(report.toMarkdown());
+        System.out.printf("%nОтчет: %s%n", json.toAbsolutePath());
+    }
+
+    private static String label(LoadConfig config) {
+        if (config.getLabel() != null && !config.getLabel().isBlank()) {
+            return config.getLabel();
+        }
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        String commit = commit();
+        return commit == null ? timestamp : commit + "-" + timestamp;
+    }
+
+    private static String commit() {
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            try (BufferedReader output = new BufferedReader(
+                    new InputStreamReader(git.getInputStream(), StandardCharsets.UTF_8))) {
+                String line = output.readLine();
+                return git.waitFor() == 0 ? line : null;
+            }
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.load;
+
+import lombok.Value;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+public enum Operation {
+
+    BOOKINGS("bookings", 30) {
+        @Override
+        Call next(DataSet data, Random random) {
+            return new Call("/bookings?state=" + state(random) + "&size=20", pick(data.getBookerIds(), random));
+        }
+    },
+    OWNER_BOOKINGS("owner-bookings", 20) {
+        @Override
+        Call next(DataSet data, Random random) {
+            return new Call("/bookings/owner?state=" + state(random) + "&size=20", pick(data.getOwnerIds(), random));
+        }
+    },
+    ITEMS("items", 20) {
+        @Override
+        Call next(DataSet data, Random random) {
+            return new Call("/items?from=0&size=10", pick(data.getOwnerIds(), random));
+        }
+    },
+    SEARCH("search", 20) {
+        @Override
+        Call next(DataSet data, Random random) {
+            String text = URLEncoder.encode(pick(data.getSearchWords(), random), StandardCharsets.UTF_8);
+            return new Call("/items/search?text=" + text + "&from=0&size=10", pick(data.getBookerIds(), random));
+        }
+    },
+    REQUESTS("requests", 10) {
+        @Override
+        Call next(DataSet data, Random random) {
+            return new Call("/requests/all?from=0&size=10", pick(data.getOwnerIds(), random));
+        }
+    };
+
+    private static final List<String> STATES = List.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED");
+
+    private final String key;
+
+    private final int defaultWeight;
+
+    Operation(String key, int defaultWeight) {
+        this.key = key;
+        this.defaultWeight = defaultWeight;
+    }
+
+    abstract Call next(DataSet data, Random random);
+
+    public String getKey() {
+        return key;
+    }
+
+    static Operation byName(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(String.format("Неизвестная операция: %s", key)));
+    }
+
+    static String defaultMix() {
+        return Arrays.stream(values())
+                .map(operation -> operation.key + ":" + operation.defaultWeight)
+                .collect(Collectors.joining(","));
+    }
+
+    private static String state(Random random) {
+        return pick(STATES, random);
+    }
+
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    @Value
+    static class Call {
+
+        String path;
+
+        Long userId;
+
+    }
+
+}
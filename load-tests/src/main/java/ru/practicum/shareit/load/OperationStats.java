@@ -0,0 +1,28 @@
+package ru.practicum.shareit.load;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@Jacksonized
+public class OperationStats {
+
+    String operation;
+
+    long count;
+
+    long errors;
+
+    double throughput;
+
+    double p50;
+
+    double p90;
+
+    double p99;
+
+    double max;
+
+}
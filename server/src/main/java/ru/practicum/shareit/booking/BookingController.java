@@ -2,14 +2,19 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.dashboard.dto.OwnerDashboardDto;
+import ru.practicum.shareit.metrics.QueryBudget;
+import ru.practicum.shareit.util.PageCursor;
 
 import javax.validation.constraints.Min;
 import javax.validation.constraints.Positive;
 import java.util.Collection;
+import java.util.List;
 
 
 @RestController
@@ -26,6 +31,13 @@ public class BookingController {
         return bookingService.saveBooking(userId, bookingDto);
     }
 
+    @PostMapping("/batch")
+    public List<BookingResponse> createAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                           @RequestBody List<BookingDto> bookingDtos) {
+        log.info("Запрос на пакетное создание {} бронирований", bookingDtos.size());
+        return bookingService.saveBookings(userId, bookingDtos);
+    }
+
     @PatchMapping("{bookingId}")
     public BookingResponse updateBookingStatus(@RequestHeader("X-Sharer-User-Id") long userId,
                                   @PathVariable("bookingId") Long bookingId,
@@ -34,6 +46,7 @@ public class BookingController {
     }
 
     @GetMapping("/{bookingId}")
+    @QueryBudget(2)
     public BookingResponse findByBookingId(@RequestHeader("X-Sharer-User-Id") Long userId,
                                            @PathVariable("bookingId") Long bookingId) {
         log.info("Получение бронирования по id={}", bookingId);
@@ -41,25 +54,44 @@ public class BookingController {
     }
 
     @GetMapping
-    public Collection<BookingResponse> findAllUsersBookingByState(@RequestHeader("X-Sharer-User-Id") Long userId,
+    @QueryBudget(3)
+    public ResponseEntity<Collection<BookingResponse>> findAllUsersBookingByState(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                                   @RequestParam(defaultValue = "ALL") String state,
                                                                   @RequestParam(defaultValue = "0")
                                                                   @Min(value = 0, message = "Меньше нуля") int from,
                                                                   @RequestParam(defaultValue = "20")
-                                                                  @Positive int size) {
+                                                                  @Positive int size,
+                                                                  @RequestParam(required = false) String after) {
         log.info("Получение списка всех бронирований пользователя id={}", userId);
-        return bookingService.getAllUsersBookingByState(userId, state, from, size);
+        Collection<BookingResponse> bookings = after == null
+                ? bookingService.getAllUsersBookingByState(userId, state, from, size)
+                : bookingService.getUsersBookingsAfter(userId, state, PageCursor.decode(after), size);
+        return after == null ? ResponseEntity.ok(bookings)
+                : PageCursor.page(bookings, size, booking -> PageCursor.of(booking.getStart(), booking.getId()));
+    }
+
+    @GetMapping("/owner/summary")
+    @QueryBudget(2)
+    public OwnerDashboardDto getOwnerSummary(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Получение сводки по бронированиям вещей пользователя id={}", userId);
+        return bookingService.getOwnerDashboard(userId);
     }
 
     @GetMapping("/owner")
-    public Collection<BookingResponse> findAllBookingsForItemsOfUser(@RequestHeader("X-Sharer-User-Id") Long userId,
+    @QueryBudget(3)
+    public ResponseEntity<Collection<BookingResponse>> findAllBookingsForItemsOfUser(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                                      @RequestParam(defaultValue = "ALL") String state,
                                                                      @RequestParam(defaultValue = "0")
                                                                          @Min(value = 0, message = "Меньше нуля") int from,
                                                                      @RequestParam(defaultValue = "10")
-                                                                     @Positive int size) {
+                                                                     @Positive int size,
+                                                                     @RequestParam(required = false) String after) {
         log.info("Получение списка бронирований для всех вещей пользователя id={}",userId);
-        return bookingService.getAllBookingsForItemsOfUser(userId, state, from, size);
+        Collection<BookingResponse> bookings = after == null
+                ? bookingService.getAllBookingsForItemsOfUser(userId, state, from, size)
+                : bookingService.getOwnerBookingsAfter(userId, state, PageCursor.decode(after), size);
+        return after == null ? ResponseEntity.ok(bookings)
+                : PageCursor.page(bookings, size, booking -> PageCursor.of(booking.getStart(), booking.getId()));
     }
 
 }
\ No newline at end of file
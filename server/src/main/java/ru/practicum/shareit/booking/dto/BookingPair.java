@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Value;
+import lombok.With;
+
+@Value
+@With
+public class BookingPair {
+
+    public static final BookingPair EMPTY = new BookingPair(null, null);
+
+    BookingDto lastBooking;
+
+    BookingDto nextBooking;
+
+}
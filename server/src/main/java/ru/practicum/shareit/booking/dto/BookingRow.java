@@ -0,0 +1,37 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Value;
+import ru.practicum.shareit.booking.util.BookingStatus;
+
+import java.time.LocalDateTime;
+
+@Value
+public class BookingRow {
+
+    Long id;
+
+    LocalDateTime start;
+
+    LocalDateTime end;
+
+    BookingStatus status;
+
+    Long itemId;
+
+    String itemName;
+
+    String itemDescription;
+
+    Boolean itemAvailable;
+
+    Long ownerId;
+
+    Long requestId;
+
+    Long bookerId;
+
+    String bookerName;
+
+    String bookerEmail;
+
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Value;
+
+@Value
+public class ClaimedBooking {
+
+    Long id;
+
+    Long itemId;
+
+}
@@ -4,6 +4,7 @@ import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingRow;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
@@ -49,4 +50,22 @@ public class BookingMapper {
                 .build();
     }
 
+    public static BookingResponse toBookingResponse(BookingRow row) {
+        return BookingResponse.builder()
+                .id(row.getId())
+                .start(row.getStart())
+                .end(row.getEnd())
+                .item(ItemDto.builder()
+                        .id(row.getItemId())
+                        .name(row.getItemName())
+                        .description(row.getItemDescription())
+                        .available(row.getItemAvailable())
+                        .owner(row.getOwnerId())
+                        .requestId(row.getRequestId())
+                        .build())
+                .booker(new UserDto(row.getBookerId(), row.getBookerName(), row.getBookerEmail()))
+                .status(row.getStatus())
+                .build();
+    }
+
 }
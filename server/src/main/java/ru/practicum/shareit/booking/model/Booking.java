@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking.model;
 
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.util.BookingPhase;
 import ru.practicum.shareit.booking.util.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -21,7 +22,8 @@ import java.time.LocalDateTime;
 public class Booking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "BOOKINGS_SEQ", allocationSize = 50)
     @Column(name = "booking_id", nullable = false)
     Long id;
 
@@ -43,4 +45,15 @@ public class Booking {
     @Column(name = "status")
     BookingStatus status;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "phase", nullable = false)
+    BookingPhase phase;
+
+    @PrePersist
+    void initPhase() {
+        if (phase == null) {
+            phase = BookingPhase.at(start, end, LocalDateTime.now());
+        }
+    }
+
 }
\ No newline at end of file
@@ -1,42 +1,86 @@
 package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPeriodView;
+import ru.practicum.shareit.booking.dto.BookingRow;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.util.BookingPhase;
 import ru.practicum.shareit.booking.util.BookingStatus;
 
-
+import javax.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-
-    List<Booking> findByBookerIdOrderByStartDesc(Long bookerId, PageRequest page);
-
-    List<Booking> findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(Long bookerId, LocalDateTime start, LocalDateTime end, PageRequest page);
-
-    List<Booking> findByBookerIdAndStartIsAfterOrderByStartDesc(Long bookerId, LocalDateTime start, PageRequest page);
-
-    List<Booking> findByBookerIdAndEndIsBeforeOrderByStartDesc(Long bookerId, LocalDateTime start, PageRequest page);
-
-    List<Booking> findByBookerIdAndStatusOrderByStartDesc(Long bookerId, BookingStatus status, PageRequest page);
-
-    List<Booking> findByItemOwnerIdOrderByStartDesc(Long ownerId, PageRequest page);
-
-    List<Booking> findByItemOwnerIdOrderByStartDesc(Long ownerId);
-
-    List<Booking> findByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(Long ownerId, LocalDateTime start, LocalDateTime end, PageRequest page);
-
-    Booking findTopByStatusNotLikeAndItemIdAndBookerIdOrderByEndAsc(BookingStatus status, Long itemId, Long bookerId);
-
-    List<Booking> findByItemOwnerIdAndStartIsAfterOrderByStartDesc(Long ownerId, LocalDateTime start, PageRequest page);
-
-    List<Booking> findByItemOwnerIdAndEndIsBeforeOrderByStartDesc(Long ownerId, LocalDateTime end, PageRequest page);
-
-    List<Booking> findByItemOwnerIdAndStatusOrderByStartDesc(Long ownerId, BookingStatus status, PageRequest page);
-
-    List<Booking> findByItemId(Long itemId);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+
+    @Override
+    @EntityGraph(attributePaths = {"item", "item.owner", "booker"})
+    Optional<Booking> findById(Long id);
+
+    // Связи не подтягиваются: FOR UPDATE по внешнему соединению PostgreSQL не допускает
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Booking b where b.id = ?1")
+    Optional<Booking> lockById(Long id);
+
+    default Optional<Booking> findEarliestEndingBooking(BookingStatus excludedStatus, Long itemId, Long bookerId) {
+        return findByStatusNotAndItemIdAndBookerId(excludedStatus, itemId, bookerId, PageRequest.of(0, 1))
+                .stream().findFirst();
+    }
+
+    @Query("select b from Booking b where b.status <> ?1 and b.item.id = ?2 and b.booker.id = ?3 order by b.end")
+    List<Booking> findByStatusNotAndItemIdAndBookerId(BookingStatus status, Long itemId, Long bookerId, PageRequest page);
+
+    @Query("select case when count(b) > 0 then true else false end from Booking b " +
+            "where b.item.id = ?1 and b.status in ?2 and b.start < ?4 and b.end > ?3 " +
+            "and (?5 is null or b.id <> ?5)")
+    boolean existsOverlapping(Long itemId, Collection<BookingStatus> statuses, LocalDateTime start, LocalDateTime end,
+                              Long excludedBookingId);
+
+    @Modifying
+    @Query("update Booking b set b.status = ?2 where b.id in ?1 and b.status = ?3")
+    int updateStatus(Collection<Long> bookingIds, BookingStatus status, BookingStatus expected);
+
+    @Modifying
+    @Query("update Booking b set b.phase = ?2 where b.id in ?1")
+    int updatePhase(Collection<Long> bookingIds, BookingPhase phase);
+
+    @Query("select distinct b.item.id from Booking b " +
+            "where b.item.id in ?1 and b.status in ?2 and b.start < ?4 and b.end > ?3")
+    Set<Long> findBusyItemIds(Collection<Long> itemIds, Collection<BookingStatus> statuses,
+                              LocalDateTime start, LocalDateTime end);
+
+    @Query("select b.id as id, b.start as start, b.end as end, b.status as status from Booking b " +
+            "where b.item.id = ?1 and b.status <> ?2")
+    List<BookingPeriodView> findPeriodsByItemId(Long itemId, BookingStatus excludedStatus);
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingRow(b.id, b.start, b.end, b.status, " +
+            "i.id, i.name, i.description, i.available, i.owner.id, i.request.id, u.id, u.name, u.email) " +
+            "from Booking b join b.item i join b.booker u where b.id = ?1")
+    Optional<BookingRow> findRowById(Long bookingId);
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.start, b.end, b.item.id, b.booker.id, " +
+            "b.status) from Booking b " +
+            "where b.item.id in ?1 and b.status <> ?2 and b.start < ?3 " +
+            "and b.start = (select max(bb.start) from Booking bb " +
+            "where bb.item.id = b.item.id and bb.status <> ?2 and bb.start < ?3)")
+    List<BookingDto> findLastBookings(Collection<Long> itemIds, BookingStatus excludedStatus, LocalDateTime now);
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.start, b.end, b.item.id, b.booker.id, " +
+            "b.status) from Booking b " +
+            "where b.item.id in ?1 and b.status <> ?2 and b.start > ?3 " +
+            "and b.start = (select min(bb.start) from Booking bb " +
+            "where bb.item.id = b.item.id and bb.status <> ?2 and bb.start > ?3)")
+    List<BookingDto> findNextBookings(Collection<Long> itemIds, BookingStatus excludedStatus, LocalDateTime now);
 
 }
\ No newline at end of file
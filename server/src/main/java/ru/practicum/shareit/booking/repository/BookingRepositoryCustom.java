@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.dto.BookingRow;
+import ru.practicum.shareit.booking.dto.ClaimedBooking;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.util.BookingTransition;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+    List<BookingRow> findBookings(Specification<Booking> specification, int offset, int size);
+
+    List<ClaimedBooking> claimBookings(BookingTransition transition, LocalDateTime now, int limit);
+
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.hibernate.Session;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.dto.BookingRow;
+import ru.practicum.shareit.booking.dto.ClaimedBooking;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.util.BookingTransition;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    private static final Map<BookingTransition, String> CLAIM_CONDITIONS = new EnumMap<>(BookingTransition.class);
+
+    static {
+        CLAIM_CONDITIONS.put(BookingTransition.EXPIRE_WAITING, "status = 'WAITING' AND start_date <= ?1");
+        CLAIM_CONDITIONS.put(BookingTransition.FINISH, "phase IN ('UPCOMING', 'ACTIVE') AND end_date <= ?1");
+        CLAIM_CONDITIONS.put(BookingTransition.START, "phase = 'UPCOMING' AND start_date <= ?1");
+    }
+
+    private volatile String lockClause;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingRow> findBookings(Specification<Booking> specification, int offset, int size) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingRow> query = builder.createQuery(BookingRow.class);
+        Root<Booking> root = query.from(Booking.class);
+        Join<Booking, Item> item = root.join("item", JoinType.INNER);
+        Join<Booking, User> booker = root.join("booker", JoinType.INNER);
+        query.select(builder.construct(BookingRow.class,
+                        root.get("id"), root.get("start"), root.get("end"), root.get("status"),
+                        item.get("id"), item.get("name"), item.get("description"), item.get("available"),
+                        item.get("owner").get("id"), item.get("request").get("id"),
+                        booker.get("id"), booker.get("name"), booker.get("email")))
+                .where(specification.toPredicate(root, query, builder))
+                .orderBy(builder.desc(root.get("start")), builder.desc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ClaimedBooking> claimBookings(BookingTransition transition, LocalDateTime now, int limit) {
+        String sql = "SELECT booking_id, item_id FROM BOOKINGS WHERE " + CLAIM_CONDITIONS.get(transition)
+                + " LIMIT ?2 " + lockClause();
+        List<Object[]> rows = entityManager.createNativeQuery(sql)
+                .setParameter(1, now)
+                .setParameter(2, limit)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new ClaimedBooking(((Number) row[0]).longValue(), ((Number) row[1]).longValue()))
+                .collect(Collectors.toList());
+    }
+
+    // Строки, захваченные другим узлом, пропускаются; H2 SKIP LOCKED не поддерживает
+    private String lockClause() {
+        if (lockClause == null) {
+            String database = entityManager.unwrap(Session.class)
+                    .doReturningWork(connection -> connection.getMetaData().getDatabaseProductName());
+            lockClause = "PostgreSQL".equals(database) ? "FOR UPDATE SKIP LOCKED" : "FOR UPDATE";
+        }
+        return lockClause;
+    }
+
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.util.BookingPhase;
+import ru.practicum.shareit.booking.util.BookingState;
+import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.util.PageCursor;
+
+import javax.persistence.criteria.Fetch;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@UtilityClass
+public class BookingSpecifications {
+
+    public static Specification<Booking> byBooker(Long bookerId) {
+        return (root, query, builder) -> builder.equal(root.get("booker").get("id"), bookerId);
+    }
+
+    public static Specification<Booking> byItemOwner(Long ownerId) {
+        return (root, query, builder) -> builder.equal(item(root).get("owner").get("id"), ownerId);
+    }
+
+    public static Specification<Booking> inStates(Collection<BookingState> states, LocalDateTime now) {
+        return (root, query, builder) -> {
+            if (states.contains(BookingState.ALL)) {
+                return builder.conjunction();
+            }
+            List<Predicate> predicates = new ArrayList<>();
+            List<BookingStatus> statuses = new ArrayList<>();
+            for (BookingState state : states) {
+                switch (state) {
+                    // Фазу двигает планировщик с задержкой, вторая ветка добирает ещё не переведённые брони
+                    case CURRENT:
+                        predicates.add(builder.and(builder.equal(root.get("phase"), BookingPhase.ACTIVE),
+                                builder.greaterThan(root.get("end"), now)));
+                        predicates.add(builder.and(builder.equal(root.get("phase"), BookingPhase.UPCOMING),
+                                builder.lessThan(root.get("start"), now),
+                                builder.greaterThan(root.get("end"), now)));
+                        break;
+                    case PAST:
+                        predicates.add(builder.equal(root.get("phase"), BookingPhase.FINISHED));
+                        predicates.add(builder.and(root.get("phase").in(BookingPhase.UPCOMING, BookingPhase.ACTIVE),
+                                builder.lessThan(root.get("end"), now)));
+                        break;
+                    case FUTURE:
+                        predicates.add(builder.and(builder.equal(root.get("phase"), BookingPhase.UPCOMING),
+                                builder.greaterThan(root.get("start"), now)));
+                        break;
+                    case WAITING:
+                        statuses.add(BookingStatus.WAITING);
+                        break;
+                    case REJECTED:
+                        statuses.add(BookingStatus.REJECTED);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown state: " + state);
+                }
+            }
+            if (statuses.size() == 1) {
+                predicates.add(builder.equal(root.get("status"), statuses.get(0)));
+            } else if (!statuses.isEmpty()) {
+                predicates.add(root.get("status").in(statuses));
+            }
+            return builder.or(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Booking> startsBefore(PageCursor cursor) {
+        return (root, query, builder) -> cursor == null ? builder.conjunction() : builder.and(
+                builder.lessThanOrEqualTo(root.get("start"), cursor.getPosition()),
+                builder.or(builder.lessThan(root.get("start"), cursor.getPosition()),
+                        builder.lessThan(root.get("id"), cursor.getId())));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static From<Booking, Item> item(Root<Booking> root) {
+        for (Fetch<Booking, ?> fetch : root.getFetches()) {
+            if (fetch.getAttribute().getName().equals("item")) {
+                return (From<Booking, Item>) fetch;
+            }
+        }
+        for (Join<Booking, ?> join : root.getJoins()) {
+            if (join.getAttribute().getName().equals("item")) {
+                return (From<Booking, Item>) join;
+            }
+        }
+        return root.join("item");
+    }
+
+}
@@ -0,0 +1,121 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.ClaimedBooking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.util.BookingPhase;
+import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.booking.util.BookingTransition;
+import ru.practicum.shareit.dashboard.service.OwnerDashboardCounters;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class BookingLifecycleJob {
+
+    private final BookingRepository bookingRepository;
+
+    private final ItemAvailabilityIndex availabilityIndex;
+
+    private final OwnerDashboardCounters dashboardCounters;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final int maxBatches;
+
+    private final Duration expireWaitingAfter;
+
+    public BookingLifecycleJob(BookingRepository bookingRepository,
+                               ItemAvailabilityIndex availabilityIndex,
+                               OwnerDashboardCounters dashboardCounters,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${shareit.bookings.lifecycle.batch-size:500}") int batchSize,
+                               @Value("${shareit.bookings.lifecycle.max-batches:100}") int maxBatches,
+                               @Value("${shareit.bookings.lifecycle.expire-waiting-after:#{null}}")
+                               Duration expireWaitingAfter) {
+        this.bookingRepository = bookingRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.dashboardCounters = dashboardCounters;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.expireWaitingAfter = expireWaitingAfter;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.bookings.lifecycle.interval-ms:60000}",
+            initialDelayString = "${shareit.bookings.lifecycle.initial-delay-ms:10000}")
+    public void run() {
+        LocalDateTime now = LocalDateTime.now();
+        // Без заданного срока ожидающие брони не отклоняются: владелец вправе подтвердить и начавшуюся
+        int expired = expireWaitingAfter == null ? 0
+                : process(BookingTransition.EXPIRE_WAITING, now.minus(expireWaitingAfter));
+        int finished = process(BookingTransition.FINISH, now);
+        int started = process(BookingTransition.START, now);
+        if (expired + finished + started > 0) {
+            log.info("Жизненный цикл бронирований: отклонено просроченных {}, завершено {}, начато {}",
+                    expired, finished, started);
+        }
+    }
+
+    // Решение планировщика окончательное, просроченную бронь владелец уже не подтвердит
+    public boolean isWaitingExpired(LocalDateTime start, LocalDateTime now) {
+        return expireWaitingAfter != null && !start.isAfter(now.minus(expireWaitingAfter));
+    }
+
+    int process(BookingTransition transition, LocalDateTime now) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int claimed = Optional.ofNullable(transactionTemplate.execute(status -> apply(transition, now))).orElse(0);
+            total += claimed;
+            if (claimed < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int apply(BookingTransition transition, LocalDateTime now) {
+        List<ClaimedBooking> claimed = bookingRepository.claimBookings(transition, now, batchSize);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = claimed.stream().map(ClaimedBooking::getId).collect(Collectors.toList());
+        dashboardCounters.bookingsChanged(ids, () -> transit(transition, ids));
+        if (transition == BookingTransition.EXPIRE_WAITING) {
+            Set<Long> itemIds = claimed.stream().map(ClaimedBooking::getItemId).collect(Collectors.toSet());
+            availabilityIndex.evict(itemIds);
+        }
+        return claimed.size();
+    }
+
+    private void transit(BookingTransition transition, List<Long> ids) {
+        switch (transition) {
+            case EXPIRE_WAITING:
+                bookingRepository.updateStatus(ids, BookingStatus.REJECTED, BookingStatus.WAITING);
+                break;
+            case FINISH:
+                bookingRepository.updatePhase(ids, BookingPhase.FINISHED);
+                break;
+            case START:
+                bookingRepository.updatePhase(ids, BookingPhase.ACTIVE);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown transition: " + transition);
+        }
+    }
+
+}
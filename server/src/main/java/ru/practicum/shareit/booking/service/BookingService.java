@@ -2,19 +2,30 @@ package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.dashboard.dto.OwnerDashboardDto;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface BookingService {
 
     BookingResponse saveBooking(Long userId, BookingDto bookingDto);
 
+    List<BookingResponse> saveBookings(Long userId, List<BookingDto> bookingDtos);
+
     BookingResponse updateBookingStatus(Long userId, Long bookingId, boolean approved);
 
     BookingResponse getBookingById(Long userId, Long bookingId);
 
+    OwnerDashboardDto getOwnerDashboard(Long userId);
+
     Collection<BookingResponse> getAllUsersBookingByState(Long userId, String state, int from, int size);
 
     Collection<BookingResponse> getAllBookingsForItemsOfUser(Long userId, String state, int from, int size);
 
+    List<BookingResponse> getUsersBookingsAfter(Long userId, String state, PageCursor after, int size);
+
+    List<BookingResponse> getOwnerBookingsAfter(Long userId, String state, PageCursor after, int size);
+
 }
\ No newline at end of file
@@ -1,9 +1,10 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.util.BookingStatus;
@@ -11,19 +12,30 @@ import ru.practicum.shareit.booking.util.BookingState;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingRow;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingSpecifications;
+import ru.practicum.shareit.dashboard.dto.OwnerDashboardDto;
+import ru.practicum.shareit.dashboard.service.OwnerDashboardCounters;
+import ru.practicum.shareit.exception.BookingConflictException;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.exception.ValidateStateException;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.EntityLookup;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
@@ -33,29 +45,33 @@ import java.util.stream.Collectors;
 @Transactional
 public class BookingServiceImpl implements BookingService {
 
-    private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
-    private final ItemRepository itemRepository;
+    public static final String QUERY_METRIC = "shareit.bookings.query";
 
-    private User validateUser(Long userId) {
-        return userRepository.findById(userId).orElseThrow(() -> new ObjectNotFoundException(
-                String.format("Пользователь с id = %d не найден", userId)));
-    }
+    private static final Set<BookingStatus> ACTIVE_STATUSES = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
 
-    private Item validateItem(Long itemId) {
-        return itemRepository.findById(itemId).orElseThrow(() -> new ObjectNotFoundException(
-                String.format("Предмет с id = %d не найден.", itemId)));
-    }
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final EntityLookup entityLookup;
+    private final ItemAvailabilityIndex availabilityIndex;
+    private final MeterRegistry meterRegistry;
+    private final OwnerDashboardCounters dashboardCounters;
+    private final BookingLifecycleJob lifecycleJob;
 
+    // Статус читается под блокировкой строки, иначе параллельные решения владельца и планировщика
+    // списывают один и тот же WAITING со счётчиков дважды
     private Booking validateBooking(Long bookingId) {
-        return bookingRepository.findById(bookingId).orElseThrow(() -> new ObjectNotFoundException(String.format(
+        return bookingRepository.lockById(bookingId).orElseThrow(() -> new ObjectNotFoundException(String.format(
                 "Бронирование с id = %d не найдено.", bookingId)));
     }
 
     @Override
     public BookingResponse saveBooking(Long userId, BookingDto bookingDto) {
-        Item item = validateItem(bookingDto.getItemId());
-        User user = validateUser(userId);
+        User user = entityLookup.getUser(userId);
+        // Проверки идут по заблокированной строке, чтобы параллельный updateItem не изменил доступность между ними
+        Item item = itemRepository.lockAllById(List.of(bookingDto.getItemId())).stream()
+                .findFirst()
+                .orElseThrow(() -> new ObjectNotFoundException(String.format(
+                        "Предмет с id = %d не найден.", bookingDto.getItemId())));
         if (!item.getAvailable()) {
             throw new IllegalArgumentException("Предмет не доступен для бронироавния");
         }
@@ -63,13 +79,55 @@ public class BookingServiceImpl implements BookingService {
             throw new ObjectNotFoundException("Нельзя забронировать свою вещь");
         }
 
+        checkNoOverlap(item.getId(), bookingDto.getStart(), bookingDto.getEnd(), ACTIVE_STATUSES, null);
+
         Booking booking = BookingMapper.toBooking(bookingDto, item, user);
         booking.setStatus(BookingStatus.WAITING);
         bookingRepository.save(booking);
+        availabilityIndex.index(booking);
+        dashboardCounters.bookingsCreated(List.of(booking));
         return BookingMapper.toBookingResponse(booking);
 
     }
 
+    @Override
+    public List<BookingResponse> saveBookings(Long userId, List<BookingDto> bookingDtos) {
+        User user = entityLookup.getUser(userId);
+        Set<Long> itemIds = bookingDtos.stream().map(BookingDto::getItemId).collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.lockAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        List<Booking> bookings = new ArrayList<>();
+        for (BookingDto bookingDto : bookingDtos) {
+            Item item = items.get(bookingDto.getItemId());
+            if (item == null) {
+                throw new ObjectNotFoundException(String.format("Предмет с id = %d не найден.", bookingDto.getItemId()));
+            }
+            if (!item.getAvailable()) {
+                throw new IllegalArgumentException(String.format("Предмет с id = %d не доступен для бронирования",
+                        item.getId()));
+            }
+            if (item.getOwner().getId().equals(userId)) {
+                throw new ObjectNotFoundException("Нельзя забронировать свою вещь");
+            }
+            checkNoOverlap(item.getId(), bookingDto.getStart(), bookingDto.getEnd(), ACTIVE_STATUSES, null);
+            for (Booking other : bookings) {
+                if (other.getItem().getId().equals(item.getId()) && overlaps(other, bookingDto)) {
+                    throw new BookingConflictException(String.format(
+                            "Бронирования предмета с id = %d в пакете пересекаются", item.getId()));
+                }
+            }
+            bookingDto.setId(null);
+            Booking booking = BookingMapper.toBooking(bookingDto, item, user);
+            booking.setStatus(BookingStatus.WAITING);
+            bookings.add(booking);
+        }
+        bookingRepository.saveAll(bookings);
+        bookings.forEach(availabilityIndex::index);
+        dashboardCounters.bookingsCreated(bookings);
+        log.info("Создано {} бронирований пользователя userId={}", bookings.size(), userId);
+        return bookings.stream().map(BookingMapper::toBookingResponse).collect(Collectors.toList());
+    }
+
     @Override
     public BookingResponse updateBookingStatus(Long userId, Long bookingId, boolean approved) {
         Booking booking = validateBooking(bookingId);
@@ -81,10 +139,18 @@ public class BookingServiceImpl implements BookingService {
         if (approved && booking.getStatus() == BookingStatus.APPROVED) {
             throw new IllegalArgumentException(String.format("Бронь с id = %d уже существует.",booking.getItem().getId()));
         }
+        if (approved && lifecycleJob.isWaitingExpired(booking.getStart(), LocalDateTime.now())) {
+            throw new IllegalArgumentException(String.format(
+                    "Бронирование с id = %d просрочено и не может быть подтверждено.", bookingId));
+        }
         if (!approved && booking.getStatus() == BookingStatus.REJECTED) {
             throw new IllegalArgumentException(String.format("Бронь с id = %d уже отменена.",booking.getItem().getId()));
         }
+        BookingStatus previousStatus = booking.getStatus();
         if (approved) {
+            itemRepository.lockAllById(List.of(booking.getItem().getId()));
+            checkNoOverlap(booking.getItem().getId(), booking.getStart(), booking.getEnd(),
+                    EnumSet.of(BookingStatus.APPROVED), booking.getId());
             booking.setStatus(BookingStatus.APPROVED);
         } else {
             booking.setStatus(BookingStatus.REJECTED);
@@ -94,88 +160,105 @@ public class BookingServiceImpl implements BookingService {
         }
 
         bookingRepository.save(booking);
+        availabilityIndex.index(booking);
+        dashboardCounters.bookingStatusChanged(ownerId, previousStatus, booking.getStatus(), booking.getPhase());
         return BookingMapper.toBookingResponse(booking);
     }
 
     @Override
     @Transactional(readOnly = true)
     public BookingResponse getBookingById(Long userId, Long bookingId) {
-        Booking booking = validateBooking(bookingId);
-        Long bookerId = booking.getBooker().getId();
-        Long ownerId = booking.getItem().getOwner().getId();
-        if (userId.equals(bookerId) || userId.equals(ownerId)) {
+        BookingRow booking = bookingRepository.findRowById(bookingId).orElseThrow(() -> new ObjectNotFoundException(
+                String.format("Бронирование с id = %d не найдено.", bookingId)));
+        if (userId.equals(booking.getBookerId()) || userId.equals(booking.getOwnerId())) {
             return BookingMapper.toBookingResponse(booking);
         } else {
             throw new ObjectNotFoundException("Запрашиваемая информация доступна только владельцу");
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public OwnerDashboardDto getOwnerDashboard(Long userId) {
+        entityLookup.checkUser(userId);
+        return dashboardCounters.getDashboard(userId);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public Collection<BookingResponse> getAllUsersBookingByState(Long userId, String state, int from, int size) {
-        validateUser(userId);
-        BookingState transformState = changeStringToState(state);
-        LocalDateTime currentTime = LocalDateTime.now();
-        Collection<Booking> usersBooking = new ArrayList<>();
-        Sort sort = Sort.by(Sort.Direction.DESC,"start");
-        PageRequest page = PageRequest.of(from / size, size, sort);
-        switch (transformState) {
-            case ALL:
-                usersBooking = bookingRepository.findByBookerIdOrderByStartDesc(userId, page);
-                break;
-            case CURRENT:
-                usersBooking = bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(userId, currentTime, currentTime, page);
-                break;
-            case PAST:
-                usersBooking = bookingRepository.findByBookerIdAndEndIsBeforeOrderByStartDesc(userId, currentTime, page);
-                break;
-            case FUTURE:
-                usersBooking = bookingRepository.findByBookerIdAndStartIsAfterOrderByStartDesc(userId, currentTime, page);
-                break;
-            case WAITING:
-                usersBooking = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING, page);
-                break;
-            case REJECTED:
-                usersBooking = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.REJECTED, page);
-                break;
-            case UNSUPPORTED_STATUS:
-                throw new ValidateStateException("Unknown state: UNSUPPORTED_STATUS");
-        }
-        return usersBooking.stream().map(BookingMapper::toBookingResponse).collect(Collectors.toList());
+        entityLookup.checkUser(userId);
+        return findBookings("booker", BookingSpecifications.byBooker(userId), state, from / size * size, size);
     }
 
     @Transactional(readOnly = true)
     @Override
     public Collection<BookingResponse> getAllBookingsForItemsOfUser(Long userId, String state, int from, int size) {
-        validateUser(userId);
-        BookingState transformState = changeStringToState(state);
-        LocalDateTime now = LocalDateTime.now();
-        List<Booking> bookings = new ArrayList<>();
-        Sort sort = Sort.by(Sort.Direction.DESC,"start");
-        PageRequest page = PageRequest.of(from / size, size, sort);
-        switch (transformState) {
-            case ALL:
-                bookings = bookingRepository.findByItemOwnerIdOrderByStartDesc(userId, page);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(userId, now, now, page);
-                break;
-            case PAST:
-                bookings = bookingRepository.findByItemOwnerIdAndEndIsBeforeOrderByStartDesc(userId, now, page);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByItemOwnerIdAndStartIsAfterOrderByStartDesc(userId, now, page);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING, page);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(userId, BookingStatus.REJECTED, page);
-                break;
-            case UNSUPPORTED_STATUS:
+        entityLookup.checkUser(userId);
+        return findBookings("owner", BookingSpecifications.byItemOwner(userId), state, from / size * size, size);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<BookingResponse> getUsersBookingsAfter(Long userId, String state, PageCursor after, int size) {
+        entityLookup.checkUser(userId);
+        return findBookings("booker", BookingSpecifications.byBooker(userId).and(startsBefore(after)), state, 0, size);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<BookingResponse> getOwnerBookingsAfter(Long userId, String state, PageCursor after, int size) {
+        entityLookup.checkUser(userId);
+        return findBookings("owner", BookingSpecifications.byItemOwner(userId).and(startsBefore(after)), state, 0, size);
+    }
+
+    private void checkNoOverlap(Long itemId, LocalDateTime start, LocalDateTime end, Set<BookingStatus> statuses,
+                                Long excludedBookingId) {
+        if (bookingRepository.existsOverlapping(itemId, statuses, start, end, excludedBookingId)) {
+            throw new BookingConflictException(String.format(
+                    "Предмет с id = %d уже забронирован на период с %s по %s", itemId, start, end));
+        }
+    }
+
+    private static boolean overlaps(Booking booking, BookingDto bookingDto) {
+        return booking.getStart().isBefore(bookingDto.getEnd()) && booking.getEnd().isAfter(bookingDto.getStart());
+    }
+
+    private Specification<Booking> startsBefore(PageCursor after) {
+        if (after != null && after.getPosition() == null) {
+            throw new IllegalArgumentException(String.format("Некорректный курсор: %s", after.encode()));
+        }
+        return BookingSpecifications.startsBefore(after);
+    }
+
+    private List<BookingResponse> findBookings(String role, Specification<Booking> roleSpecification, String state,
+                                               int offset, int size) {
+        Set<BookingState> states = changeStringToStates(state);
+        Specification<Booking> specification = roleSpecification
+                .and(BookingSpecifications.inStates(states, LocalDateTime.now()));
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<BookingRow> rows = bookingRepository.findBookings(specification, offset, size);
+        sample.stop(Timer.builder(QUERY_METRIC)
+                .description("Booking list query latency per requested state set")
+                .tag("state", states.stream().map(BookingState::name).collect(Collectors.joining(",")))
+                .tag("role", role)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        return rows.stream()
+                .map(BookingMapper::toBookingResponse)
+                .collect(Collectors.toList());
+    }
+
+    private Set<BookingState> changeStringToStates(String state) {
+        Set<BookingState> states = EnumSet.noneOf(BookingState.class);
+        for (String value : state.split(",")) {
+            BookingState transformState = changeStringToState(value.trim());
+            if (transformState == BookingState.UNSUPPORTED_STATUS) {
                 throw new ValidateStateException("Unknown state: UNSUPPORTED_STATUS");
+            }
+            states.add(transformState);
         }
-        return bookings.stream().map(BookingMapper::toBookingResponse).collect(Collectors.toList());
+        return states;
     }
 
     private BookingState changeStringToState(String state) {
@@ -186,4 +269,4 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
-}
\ No newline at end of file
+}
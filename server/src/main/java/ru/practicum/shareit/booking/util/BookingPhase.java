@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.util;
+
+import java.time.LocalDateTime;
+
+public enum BookingPhase {
+    UPCOMING,
+
+    ACTIVE,
+
+    FINISHED;
+
+    public static BookingPhase at(LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+        if (!end.isAfter(now)) {
+            return FINISHED;
+        }
+        return start.isAfter(now) ? UPCOMING : ACTIVE;
+    }
+
+}
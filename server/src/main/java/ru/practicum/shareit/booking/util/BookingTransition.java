@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking.util;
+
+public enum BookingTransition {
+    EXPIRE_WAITING,
+
+    FINISH,
+
+    START
+
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.dashboard.dto;
+
+public interface OwnerBookingCount {
+
+    Long getOwnerId();
+
+    String getStatus();
+
+    String getPhase();
+
+    Long getTotal();
+
+}
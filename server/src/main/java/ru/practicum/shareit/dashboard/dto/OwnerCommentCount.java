@@ -0,0 +1,9 @@
+package ru.practicum.shareit.dashboard.dto;
+
+public interface OwnerCommentCount {
+
+    Long getOwnerId();
+
+    Long getTotal();
+
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.dashboard.dto;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.util.BookingPhase;
+import ru.practicum.shareit.booking.util.BookingStatus;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OwnerDashboardDto {
+
+    Long ownerId;
+
+    Map<BookingStatus, Long> statuses;
+
+    Map<BookingPhase, Long> phases;
+
+    long items;
+
+    long comments;
+
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.dashboard.mapper;
+
+import ru.practicum.shareit.booking.util.BookingPhase;
+import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.dashboard.dto.OwnerDashboardDto;
+import ru.practicum.shareit.dashboard.model.OwnerDashboard;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+public class OwnerDashboardMapper {
+
+    public static OwnerDashboardDto toOwnerDashboardDto(OwnerDashboard dashboard) {
+        Map<BookingStatus, Long> statuses = new EnumMap<>(BookingStatus.class);
+        for (BookingStatus status : BookingStatus.values()) {
+            statuses.put(status, dashboard.getStatusCount(status));
+        }
+        Map<BookingPhase, Long> phases = new EnumMap<>(BookingPhase.class);
+        for (BookingPhase phase : BookingPhase.values()) {
+            phases.put(phase, dashboard.getPhaseCount(phase));
+        }
+        return OwnerDashboardDto.builder()
+                .ownerId(dashboard.getOwnerId())
+                .statuses(statuses)
+                .phases(phases)
+                .items(dashboard.getItems())
+                .comments(dashboard.getComments())
+                .build();
+    }
+
+}
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.dashboard.model;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.util.BookingPhase;
+import ru.practicum.shareit.booking.util.BookingStatus;
+
+import javax.persistence.*;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@Entity
+@Table(name = "OWNER_DASHBOARDS")
+public class OwnerDashboard {
+
+    @Id
+    @Column(name = "owner_id", nullable = false)
+    Long ownerId;
+
+    @Column(name = "waiting", nullable = false)
+    long waiting;
+
+    @Column(name = "approved", nullable = false)
+    long approved;
+
+    @Column(name = "rejected", nullable = false)
+    long rejected;
+
+    @Column(name = "canceled", nullable = false)
+    long canceled;
+
+    @Column(name = "upcoming", nullable = false)
+    long upcoming;
+
+    @Column(name = "active", nullable = false)
+    long active;
+
+    @Column(name = "finished", nullable = false)
+    long finished;
+
+    @Column(name = "items", nullable = false)
+    long items;
+
+    @Column(name = "comments", nullable = false)
+    long comments;
+
+    public long getStatusCount(BookingStatus status) {
+        switch (status) {
+            case WAITING:
+                return waiting;
+            case APPROVED:
+                return approved;
+            case REJECTED:
+                return rejected;
+            case CANCELED:
+                return canceled;
+            default:
+                throw new IllegalArgumentException("Unknown status: " + status);
+        }
+    }
+
+    public long getPhaseCount(BookingPhase phase) {
+        switch (phase) {
+            case UPCOMING:
+                return upcoming;
+            case ACTIVE:
+                return active;
+            case FINISHED:
+                return finished;
+            default:
+                throw new IllegalArgumentException("Unknown phase: " + phase);
+        }
+    }
+
+    public void addBookings(BookingStatus status, BookingPhase phase, long delta) {
+        switch (status) {
+            case WAITING:
+                waiting += delta;
+                break;
+            case APPROVED:
+                approved += delta;
+                break;
+            case REJECTED:
+                rejected += delta;
+                break;
+            case CANCELED:
+                canceled += delta;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown status: " + status);
+        }
+        switch (phase) {
+            case UPCOMING:
+                upcoming += delta;
+                break;
+            case ACTIVE:
+                active += delta;
+                break;
+            case FINISHED:
+                finished += delta;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown phase: " + phase);
+        }
+    }
+
+    public void addItems(long delta) {
+        items += delta;
+    }
+
+    public void addComments(long delta) {
+        comments += delta;
+    }
+
+}
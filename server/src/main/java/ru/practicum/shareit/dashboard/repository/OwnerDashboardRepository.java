@@ -0,0 +1,38 @@
+package ru.practicum.shareit.dashboard.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.dashboard.dto.OwnerBookingCount;
+import ru.practicum.shareit.dashboard.dto.OwnerCommentCount;
+import ru.practicum.shareit.dashboard.model.OwnerDashboard;
+
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+
+public interface OwnerDashboardRepository extends JpaRepository<OwnerDashboard, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select d from OwnerDashboard d where d.ownerId in ?1 order by d.ownerId")
+    List<OwnerDashboard> lockAllById(Collection<Long> ownerIds);
+
+    @Query(value = "select i.owner_id as ownerId, b.status as status, b.phase as phase, count(*) as total " +
+            "from BOOKINGS b join ITEMS i on i.item_id = b.item_id " +
+            "where b.booking_id in ?1 " +
+            "group by i.owner_id, b.status, b.phase", nativeQuery = true)
+    List<OwnerBookingCount> countBookingsByOwner(Collection<Long> bookingIds);
+
+    @Query(value = "select i.owner_id as ownerId, b.status as status, b.phase as phase, count(*) as total " +
+            "from BOOKINGS b join ITEMS i on i.item_id = b.item_id " +
+            "where b.booker_id = ?1 and i.owner_id <> ?1 " +
+            "group by i.owner_id, b.status, b.phase", nativeQuery = true)
+    List<OwnerBookingCount> countBookingsOfBooker(Long bookerId);
+
+    @Query(value = "select i.owner_id as ownerId, count(*) as total " +
+            "from COMMENTS c join ITEMS i on i.item_id = c.item_id " +
+            "where c.author_id = ?1 and i.owner_id <> ?1 " +
+            "group by i.owner_id", nativeQuery = true)
+    List<OwnerCommentCount> countCommentsOfAuthor(Long authorId);
+
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.dashboard.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.util.BookingPhase;
+import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.dashboard.dto.OwnerBookingCount;
+import ru.practicum.shareit.dashboard.dto.OwnerCommentCount;
+import ru.practicum.shareit.dashboard.dto.OwnerDashboardDto;
+import ru.practicum.shareit.dashboard.mapper.OwnerDashboardMapper;
+import ru.practicum.shareit.dashboard.model.OwnerDashboard;
+import ru.practicum.shareit.dashboard.repository.OwnerDashboardRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Счётчики меняются в транзакции вызывающего сервиса, поэтому расходятся с BOOKINGS только вместе с откатом
+@Component
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class OwnerDashboardCounters {
+
+    private final OwnerDashboardRepository dashboardRepository;
+
+    @Transactional(readOnly = true)
+    public OwnerDashboardDto getDashboard(Long ownerId) {
+        return OwnerDashboardMapper.toOwnerDashboardDto(dashboardRepository.findById(ownerId)
+                .orElseGet(() -> OwnerDashboard.builder().ownerId(ownerId).build()));
+    }
+
+    public void ownerCreated(Long ownerId) {
+        dashboardRepository.save(OwnerDashboard.builder().ownerId(ownerId).build());
+    }
+
+    public void bookingsCreated(Collection<Booking> bookings) {
+        update(bookings.stream().collect(Collectors.groupingBy(booking -> booking.getItem().getOwner().getId())),
+                (dashboard, created) -> created.forEach(booking ->
+                        dashboard.addBookings(booking.getStatus(), booking.getPhase(), 1)));
+    }
+
+    public void bookingStatusChanged(Long ownerId, BookingStatus previous, BookingStatus current, BookingPhase phase) {
+        update(Map.of(ownerId, current), (dashboard, status) -> {
+            dashboard.addBookings(previous, phase, -1);
+            dashboard.addBookings(status, phase, 1);
+        });
+    }
+
+    // Массовые переходы планировщика: счётчики снимаются до изменения строк и добавляются после
+    public void bookingsChanged(Collection<Long> bookingIds, Runnable change) {
+        apply(dashboardRepository.countBookingsByOwner(bookingIds), -1);
+        change.run();
+        apply(dashboardRepository.countBookingsByOwner(bookingIds), 1);
+    }
+
+    public void itemsCreated(Long ownerId, int count) {
+        update(Map.of(ownerId, count), (dashboard, created) -> dashboard.addItems(created));
+    }
+
+    public void commentCreated(Long ownerId) {
+        update(Map.of(ownerId, 1), (dashboard, created) -> dashboard.addComments(created));
+    }
+
+    // Каскадное удаление пользователя уносит его брони и отзывы на чужие вещи
+    public void userDeleted(Long userId) {
+        apply(dashboardRepository.countBookingsOfBooker(userId), -1);
+        Map<Long, Long> comments = dashboardRepository.countCommentsOfAuthor(userId).stream()
+                .collect(Collectors.toMap(OwnerCommentCount::getOwnerId, OwnerCommentCount::getTotal));
+        update(comments, (dashboard, total) -> dashboard.addComments(-total));
+    }
+
+    private void apply(List<OwnerBookingCount> counts, int sign) {
+        update(counts.stream().collect(Collectors.groupingBy(OwnerBookingCount::getOwnerId)),
+                (dashboard, ownerCounts) -> ownerCounts.forEach(count -> dashboard.addBookings(
+                        BookingStatus.valueOf(count.getStatus()), BookingPhase.valueOf(count.getPhase()),
+                        sign * count.getTotal())));
+    }
+
+    // Строки блокируются по возрастанию owner_id, чтобы параллельные пакеты не взаимоблокировались
+    private <T> void update(Map<Long, T> changes, BiConsumer<OwnerDashboard, T> change) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Map<Long, T> sorted = new TreeMap<>(changes);
+        Map<Long, OwnerDashboard> dashboards = dashboardRepository.lockAllById(sorted.keySet()).stream()
+                .collect(Collectors.toMap(OwnerDashboard::getOwnerId, Function.identity()));
+        sorted.forEach((ownerId, value) -> {
+            OwnerDashboard dashboard = dashboards.get(ownerId);
+            if (dashboard == null) {
+                dashboard = dashboardRepository.save(OwnerDashboard.builder().ownerId(ownerId).build());
+            }
+            change.accept(dashboard, value);
+        });
+    }
+
+}
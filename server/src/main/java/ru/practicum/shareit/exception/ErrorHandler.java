@@ -27,6 +27,13 @@ public class ErrorHandler {
         return new ErrorResponse(HttpStatus.CONFLICT, e.getMessage());
     }
 
+    @ExceptionHandler(BookingConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleBookingConflictException(Exception e) {
+        log.error(e.getMessage(), e);
+        return new ErrorResponse(HttpStatus.CONFLICT, e.getMessage());
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleObjectIllegalArgument(Exception e) {
@@ -34,6 +41,14 @@ public class ErrorHandler {
         return new ErrorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
     }
 
+    // Бросается только при shareit.sql.fail-on-budget-exceeded=true (профиль test); в проде превышение лишь логируется
+    @ExceptionHandler(SqlBudgetExceededException.class)
+    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+    public ErrorResponse handleSqlBudgetExceededException(Exception e) {
+        log.error(e.getMessage(), e);
+        return new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Превышен бюджет SQL-запросов: " + e.getMessage());
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public Map<String, String> handleValidateStateException(final ValidateStateException e) {
@@ -2,15 +2,21 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBookingAndComments;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.metrics.QueryBudget;
+import ru.practicum.shareit.util.PageCursor;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -30,6 +36,13 @@ public class ItemController {
         return itemService.saveItem(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public List<ItemDto> createAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                   @RequestBody List<ItemDto> itemDtos) {
+        log.info("Пакетное создание {} предметов пользователем userId={}", itemDtos.size(), userId);
+        return itemService.saveItems(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto update(@PathVariable("itemId") Long itemId,
                           @RequestBody ItemDto itemDto,
@@ -39,6 +52,7 @@ public class ItemController {
     }
 
     @GetMapping("{itemId}")
+    @QueryBudget(6)
     public ItemDtoWithBookingAndComments getItemById(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                      @PathVariable Long itemId) {
         log.info("Найден предмет по id = {}", itemId);
@@ -46,12 +60,40 @@ public class ItemController {
     }
 
     @GetMapping
-    public List<ItemDtoWithBookingAndComments> getItemsByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
+    @QueryBudget(6)
+    public ResponseEntity<List<ItemDtoWithBookingAndComments>> getItemsByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                                 @RequestParam(name = "from", defaultValue = "0")
                                                                 @PositiveOrZero int from,
-                                                                @RequestParam(name = "size", defaultValue = "10") @Positive int size) {
+                                                                @RequestParam(name = "size", defaultValue = "10") @Positive int size,
+                                                                @RequestParam(required = false) String after) {
         log.info("Найдены все Items пользователя userId={}", userId);
-        return itemService.getItemDtoByUserId(userId, from, size);
+        List<ItemDtoWithBookingAndComments> items = after == null
+                ? itemService.getItemDtoByUserId(userId, from, size)
+                : itemService.getItemDtoByUserIdAfter(userId, PageCursor.decode(after), size);
+        return after == null ? ResponseEntity.ok(items)
+                : PageCursor.page(items, size, item -> PageCursor.of(item.getId()));
+    }
+
+    @GetMapping("{itemId}/availability")
+    @QueryBudget(4)
+    public ItemAvailabilityDto getAvailability(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                               @PathVariable Long itemId,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime to) {
+        log.info("Запрошен календарь занятости предмета itemId={} с {} по {}", itemId, from, to);
+        return itemService.getAvailability(itemId, userId, from, to);
+    }
+
+    @GetMapping("{itemId}/comments")
+    @QueryBudget(4)
+    public List<CommentDto> getComments(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                        @PathVariable Long itemId,
+                                        @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
+                                        @RequestParam(name = "size", defaultValue = "10") @Positive int size) {
+        log.info("Найдены комментарии к предмету itemId={}", itemId);
+        return itemService.getComments(itemId, userId, from, size);
     }
 
     @PostMapping("{itemId}/comment")
@@ -63,15 +105,28 @@ public class ItemController {
     }
 
     @GetMapping("/search")
+    @QueryBudget(3)
     public Collection<ItemDto> getItemsByTextRequest(@RequestParam String text,
                                                      @RequestParam(name = "from", defaultValue = "0")
                                                      @PositiveOrZero int from,
-                                                     @RequestParam(name = "size", defaultValue = "10") @Positive int size) {
+                                                     @RequestParam(name = "size", defaultValue = "10") @Positive int size,
+                                                     @RequestParam(required = false)
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                     LocalDateTime start,
+                                                     @RequestParam(required = false)
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                     LocalDateTime end) {
         log.info("Найден предмет по тексту запроса");
         if (text.isBlank() || text.isEmpty()) {
            return Collections.emptyList();
         }
-        return itemService.getItemsDtoByRequest(text, from, size);
+        if (start == null && end == null) {
+            return itemService.getItemsDtoByRequest(text, from, size);
+        }
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Период доступности задаётся параметрами start и end вместе");
+        }
+        return itemService.getAvailableItemsDtoByRequest(text, start, end, from, size);
     }
 
 }
\ No newline at end of file
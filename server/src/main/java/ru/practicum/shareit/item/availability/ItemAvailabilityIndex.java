@@ -0,0 +1,112 @@
+package ru.practicum.shareit.item.availability;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingPeriodView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.item.dto.AvailabilityPeriod;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class ItemAvailabilityIndex {
+
+    // Ограниченный срок жизни подтягивает изменения, сделанные другими узлами
+    private final Cache<Long, ItemCalendar> calendars = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+
+    private final BookingRepository bookingRepository;
+
+    public ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        List<ItemCalendar.Period> busy = calendars.get(itemId, this::load).busy(from, to);
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .busy(busy.stream()
+                        .map(period -> new AvailabilityPeriod(period.getStart(), period.getEnd(), period.getStatus()))
+                        .collect(Collectors.toList()))
+                .free(freeWindows(busy, from, to))
+                .build();
+    }
+
+    public void index(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        Long bookingId = booking.getId();
+        LocalDateTime start = booking.getStart();
+        LocalDateTime end = booking.getEnd();
+        BookingStatus status = booking.getStatus();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(itemId, bookingId, start, end, status);
+                }
+            });
+        } else {
+            put(itemId, bookingId, start, end, status);
+        }
+    }
+
+    public void evict(Collection<Long> itemIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    calendars.invalidateAll(itemIds);
+                }
+            });
+        } else {
+            calendars.invalidateAll(itemIds);
+        }
+    }
+
+    void put(Long itemId, Long bookingId, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        calendars.asMap().computeIfPresent(itemId, (id, calendar) -> {
+            calendar.put(bookingId, start, end, status);
+            return calendar;
+        });
+    }
+
+    private ItemCalendar load(Long itemId) {
+        ItemCalendar calendar = new ItemCalendar();
+        for (BookingPeriodView period : bookingRepository.findPeriodsByItemId(itemId, BookingStatus.REJECTED)) {
+            calendar.put(period.getId(), period.getStart(), period.getEnd(), period.getStatus());
+        }
+        return calendar;
+    }
+
+    private static List<AvailabilityPeriod> freeWindows(List<ItemCalendar.Period> busy, LocalDateTime from,
+                                                        LocalDateTime to) {
+        List<AvailabilityPeriod> free = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (ItemCalendar.Period period : busy) {
+            if (period.getStart().isAfter(cursor)) {
+                free.add(AvailabilityPeriod.builder().start(cursor).end(period.getStart()).build());
+            }
+            if (period.getEnd().isAfter(cursor)) {
+                cursor = period.getEnd();
+            }
+        }
+        if (cursor.isBefore(to)) {
+            free.add(AvailabilityPeriod.builder().start(cursor).end(to).build());
+        }
+        return free;
+    }
+
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item.availability;
+
+import lombok.Value;
+import ru.practicum.shareit.booking.util.BookingStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+class ItemCalendar {
+
+    private static final Comparator<Period> BY_START = Comparator.comparing(Period::getStart)
+            .thenComparingLong(Period::getBookingId);
+
+    private final NavigableSet<Period> periods = new TreeSet<>(BY_START);
+
+    private final Map<Long, Period> byBookingId = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Все пересекающие [from, to) периоды начинаются не раньше from - longest
+    private Duration longest = Duration.ZERO;
+
+    void put(Long bookingId, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(bookingId);
+            if (status == BookingStatus.REJECTED) {
+                return;
+            }
+            Period period = new Period(bookingId, start, end, status);
+            periods.add(period);
+            byBookingId.put(bookingId, period);
+            Duration duration = Duration.between(start, end);
+            if (duration.compareTo(longest) > 0) {
+                longest = duration;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    List<Period> busy(LocalDateTime from, LocalDateTime to) {
+        lock.readLock().lock();
+        try {
+            Period lower = new Period(Long.MIN_VALUE, from.minus(longest), from, null);
+            Period upper = new Period(Long.MIN_VALUE, to, to, null);
+            List<Period> busy = new ArrayList<>();
+            for (Period period : periods.subSet(lower, true, upper, false)) {
+                if (period.getEnd().isAfter(from)) {
+                    busy.add(period);
+                }
+            }
+            return busy;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(Long bookingId) {
+        Period previous = byBookingId.remove(bookingId);
+        if (previous != null) {
+            periods.remove(previous);
+        }
+    }
+
+    @Value
+    static class Period {
+
+        long bookingId;
+
+        LocalDateTime start;
+
+        LocalDateTime end;
+
+        BookingStatus status;
+
+    }
+
+}
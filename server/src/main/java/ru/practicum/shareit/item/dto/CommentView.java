@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDateTime;
+
+public interface CommentView {
+
+    Long getId();
+
+    String getText();
+
+    String getAuthorName();
+
+    Long getItemId();
+
+    LocalDateTime getCreated();
+
+    Long getTotal();
+
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ItemAvailabilityDto {
+
+    Long itemId;
+
+    LocalDateTime from;
+
+    LocalDateTime to;
+
+    List<AvailabilityPeriod> busy;
+
+    List<AvailabilityPeriod> free;
+
+}
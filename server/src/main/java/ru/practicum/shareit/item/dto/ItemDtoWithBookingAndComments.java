@@ -29,4 +29,6 @@ public class ItemDtoWithBookingAndComments {
 
     List<CommentDto> comments;
 
+    Long commentsCount;
+
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.dto;
+
+public interface RequestItemView {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Long getOwner();
+
+    Long getRequestId();
+
+    Long getTotal();
+
+}
@@ -1,23 +1,22 @@
 package ru.practicum.shareit.item.mapper;
 
 import lombok.experimental.UtilityClass;
-import ru.practicum.shareit.booking.mapper.BookingMapper;
-import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingPair;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBookingAndComments;
-import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.dto.RequestItemView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
-import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @UtilityClass
 public class ItemMapper {
+
     public static ItemDto toItemDto(Item item) {
         return ItemDto.builder()
                 .id(item.getId())
@@ -29,6 +28,17 @@ public class ItemMapper {
                 .build();
     }
 
+    public static ItemDto toItemDto(RequestItemView item) {
+        return ItemDto.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .owner(item.getOwner())
+                .requestId(item.getRequestId())
+                .build();
+    }
+
     public static Item toItem(ItemDto dto, User user) {
 
         Item item = new Item();
@@ -53,20 +63,11 @@ public class ItemMapper {
         return itemsDto;
     }
 
-    public static ItemDtoWithBookingAndComments toItemDtoWBAC(Item item, User user, List<Booking> bookings, List<Comment> comments) {
-        Booking lastBooking = bookings.stream()
-                .filter(booking -> booking.getStatus() != BookingStatus.REJECTED)
-                .filter(booking -> booking.getStart().isBefore(LocalDateTime.now()))
-                .filter(booking -> booking.getItem().getOwner().getId().equals(user.getId()))
-                .filter(booking -> booking.getItem().getId().equals(item.getId()))
-                .max(Comparator.comparing(Booking::getStart)).orElse(null);
-        Booking nextBooking = bookings.stream()
-                .filter(booking -> booking.getStatus() != BookingStatus.REJECTED)
-                .filter(booking -> booking.getStart().isAfter(LocalDateTime.now()))
-                .filter(booking -> booking.getItem().getOwner().getId().equals(user.getId()))
-                .filter(booking -> booking.getItem().getId().equals(item.getId()))
-                .min(Comparator.comparing(Booking::getStart)).orElse(null);
-        List<CommentDto> dtoCommentsList = comments.stream()
+    public static ItemDtoWithBookingAndComments toItemDtoWBAC(Item item, Map<Long, BookingPair> bookingPairs,
+                                                              Map<Long, List<CommentView>> comments) {
+        BookingPair bookings = bookingPairs.getOrDefault(item.getId(), BookingPair.EMPTY);
+        List<CommentView> itemComments = comments.getOrDefault(item.getId(), Collections.emptyList());
+        List<CommentDto> dtoCommentsList = itemComments.stream()
                 .map(CommentMapper::commentDto).collect(Collectors.toList());
 
         return ItemDtoWithBookingAndComments.builder()
@@ -74,9 +75,11 @@ public class ItemMapper {
                 .description(item.getDescription())
                 .available(item.getAvailable())
                 .requestId(item.getRequest() != null ? item.getRequest().getId() : null)
-                .lastBooking(lastBooking != null ? BookingMapper.toBookingDto(lastBooking) : null)
-                .nextBooking(nextBooking != null ? BookingMapper.toBookingDto(nextBooking) : null)
-                .comments(dtoCommentsList).build();
+                .lastBooking(bookings.getLastBooking())
+                .nextBooking(bookings.getNextBooking())
+                .comments(dtoCommentsList)
+                .commentsCount(itemComments.isEmpty() ? 0L : itemComments.get(0).getTotal())
+                .build();
     }
 
 }
\ No newline at end of file
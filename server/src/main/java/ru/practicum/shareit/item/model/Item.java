@@ -17,7 +17,8 @@ import javax.persistence.*;
 @Table(name = "ITEMS")
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "ITEMS_SEQ", allocationSize = 50)
     @Column(name = "item_id", nullable = false)
     Long id;
 
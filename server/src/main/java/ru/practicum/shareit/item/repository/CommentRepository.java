@@ -1,13 +1,26 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByItemId(Long itemId);
+    @Query("select c from Comment c join fetch c.author where c.item.id = ?1 order by c.created desc, c.id desc")
+    List<Comment> findByItemId(Long itemId, Pageable page);
 
-    List<Comment> findByItemIdIn(List<Long> itemsId);
+    @Query(value = "select r.comment_id as id, r.text as text, r.author_name as authorName, r.item_id as itemId, " +
+            "r.created as created, r.total as total " +
+            "from (select c.comment_id, c.text, u.name as author_name, c.item_id, c.created, " +
+            "row_number() over (partition by c.item_id order by c.created desc, c.comment_id desc) as position, " +
+            "count(*) over (partition by c.item_id) as total " +
+            "from COMMENTS c join USERS u on u.user_id = c.author_id where c.item_id in ?1) r " +
+            "where r.position <= ?2 " +
+            "order by r.item_id, r.created desc, r.comment_id desc", nativeQuery = true)
+    List<CommentView> findLatestByItemIdIn(Collection<Long> itemIds, int limit);
 
 }
\ No newline at end of file
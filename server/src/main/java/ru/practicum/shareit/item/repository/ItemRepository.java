@@ -1,26 +1,64 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.item.dto.RequestItemView;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
     @Query(" select i from Item i " +
-            "where upper(i.name) like upper(concat('%', ?1, '%')) " +
-            "or upper(i.description) like upper(concat('%', ?1, '%')) and i.available = true")
+            "where i.available = true " +
+            "and (upper(i.name) like upper(concat('%', ?1, '%')) " +
+            "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
+            "order by case when upper(i.name) like upper(concat(?1, '%')) then 0 " +
+            "when upper(i.name) like upper(concat('%', ?1, '%')) then 1 else 2 end, i.id")
+    List<Item> search(String text, Pageable page);
 
-    List<Item> search(String text, PageRequest page);
+    @Query(" select i from Item i " +
+            "where i.available = true " +
+            "and (upper(i.name) like upper(concat('%', ?1, '%')) " +
+            "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
+            "and not exists (select b.id from Booking b " +
+            "where b.item = i and b.status in ?4 and b.start < ?3 and b.end > ?2) " +
+            "order by case when upper(i.name) like upper(concat(?1, '%')) then 0 " +
+            "when upper(i.name) like upper(concat('%', ?1, '%')) then 1 else 2 end, i.id")
+    List<Item> searchAvailable(String text, LocalDateTime start, LocalDateTime end,
+                               Collection<BookingStatus> statuses, Pageable page);
+
+    @Query("select i from Item i join fetch i.owner left join fetch i.request r left join fetch r.requestor " +
+            "where i.id = ?1")
+    Optional<Item> findWithOwnerById(Long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id in ?1 order by i.id")
+    List<Item> lockAllById(Collection<Long> itemIds);
 
+    @Query("select i from Item i where i.owner.id = ?1")
     List<Item> findItemByOwnerId(Long userId, PageRequest page);
 
-    List<Item> findByRequestIdIn(Collection<Long> id);
+    @Query("select i from Item i where i.owner.id = ?1 and i.id > ?2 order by i.id")
+    List<Item> findItemByOwnerIdAfter(Long userId, Long afterId, Pageable page);
 
-    List<Item> findByRequestId(Long requestId);
+    @Query(value = "select r.item_id as id, r.name as name, r.description as description, " +
+            "r.is_available as available, r.owner_id as owner, r.requests_id as requestId, r.total as total " +
+            "from (select i.*, " +
+            "row_number() over (partition by i.requests_id order by i.item_id) as position, " +
+            "count(*) over (partition by i.requests_id) as total " +
+            "from ITEMS i where i.requests_id in ?1) r " +
+            "where r.position <= ?2 " +
+            "order by r.requests_id, r.item_id", nativeQuery = true)
+    List<RequestItemView> findFirstByRequestIdIn(Collection<Long> requestIds, int limit);
 
 }
\ No newline at end of file
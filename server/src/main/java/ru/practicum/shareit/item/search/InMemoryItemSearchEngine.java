@@ -0,0 +1,284 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+
+    private static final int GRAM = 3;
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private static final int AVAILABILITY_CHUNK_SIZE = 500;
+
+    private static final Comparator<Hit> BY_RELEVANCE = Comparator.comparingInt(Hit::getRank)
+            .thenComparingLong(Hit::getItemId);
+
+    private final ItemRepository itemRepository;
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        int indexed = 0;
+        Page<Item> page = itemRepository.findAll(PageRequest.of(0, LOAD_PAGE_SIZE, Sort.by("id")));
+        while (true) {
+            page.forEach(this::put);
+            indexed += page.getNumberOfElements();
+            if (!page.hasNext()) {
+                break;
+            }
+            page = itemRepository.findAll(page.nextPageable());
+        }
+        log.info("Поисковый индекс построен, вещей в индексе: {}", indexed);
+    }
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        return load(findIds(normalize(text), from, size));
+    }
+
+    @Override
+    public List<Item> searchAvailable(String text, LocalDateTime start, LocalDateTime end, int from, int size) {
+        return load(findAvailableIds(normalize(text), start, end, from, size));
+    }
+
+    // Кандидаты ранжируются один раз, окно проверки занятости удваивается: запросов к бронированиям O(log n)
+    List<Long> findAvailableIds(String query, LocalDateTime start, LocalDateTime end, int from, int size) {
+        List<Long> ranked = rankedIds(query);
+        int limit = from + size;
+        List<Long> available = new ArrayList<>();
+        int chunk = Math.max(limit, AVAILABILITY_CHUNK_SIZE);
+        for (int offset = 0; offset < ranked.size() && available.size() < limit; offset += chunk, chunk *= 2) {
+            List<Long> ids = ranked.subList(offset, offset + Math.min(chunk, ranked.size() - offset));
+            Set<Long> busy = bookingRepository.findBusyItemIds(ids, BUSY_STATUSES, start, end);
+            ids.stream().filter(id -> !busy.contains(id)).forEach(available::add);
+        }
+        return available.stream()
+                .skip(from)
+                .limit(size)
+                .collect(Collectors.toList());
+    }
+
+    private List<Item> load(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Item> items = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void index(Item item) {
+        afterCommit(() -> put(item));
+    }
+
+    // Вещи удаляются каскадом вместе с владельцем, сами они через сервис не проходят
+    @Override
+    public void removeByOwner(Long ownerId) {
+        afterCommit(() -> removeOwner(ownerId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    List<Long> findIds(String query, int from, int size) {
+        int limit = from + size;
+        PriorityQueue<Hit> top = new PriorityQueue<>(BY_RELEVANCE.reversed());
+        forEachHit(query, hit -> {
+            if (top.size() < limit) {
+                top.add(hit);
+            } else if (BY_RELEVANCE.compare(hit, top.peek()) < 0) {
+                top.poll();
+                top.add(hit);
+            }
+        });
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(BY_RELEVANCE);
+        return hits.stream()
+                .skip(from)
+                .map(Hit::getItemId)
+                .collect(Collectors.toList());
+    }
+
+    private List<Long> rankedIds(String query) {
+        List<Hit> hits = new ArrayList<>();
+        forEachHit(query, hits::add);
+        hits.sort(BY_RELEVANCE);
+        return hits.stream()
+                .map(Hit::getItemId)
+                .collect(Collectors.toList());
+    }
+
+    private void forEachHit(String query, Consumer<Hit> consumer) {
+        lock.readLock().lock();
+        try {
+            for (Long id : candidates(query)) {
+                int rank = documents.get(id).rank(query);
+                if (rank >= 0) {
+                    consumer.accept(new Hit(rank, id));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void put(Item item) {
+        Document document = new Document(item.getOwner() == null ? null : item.getOwner().getId(),
+                normalize(item.getName()), normalize(item.getDescription()));
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.remove(item.getId());
+            if (previous != null) {
+                previous.grams().forEach(gram -> removePosting(gram, item.getId()));
+            }
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                documents.put(item.getId(), document);
+                document.grams().forEach(gram -> postings.computeIfAbsent(gram, key -> new HashSet<>()).add(item.getId()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void removeOwner(Long ownerId) {
+        lock.writeLock().lock();
+        try {
+            Iterator<Map.Entry<Long, Document>> entries = documents.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<Long, Document> entry = entries.next();
+                if (ownerId.equals(entry.getValue().ownerId)) {
+                    entry.getValue().grams().forEach(gram -> removePosting(gram, entry.getKey()));
+                    entries.remove();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Collection<Long> candidates(String query) {
+        if (query.length() < GRAM) {
+            return documents.keySet();
+        }
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private void removePosting(String gram, Long itemId) {
+        Set<Long> ids = postings.get(gram);
+        if (ids != null) {
+            ids.remove(itemId);
+            if (ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toUpperCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    @RequiredArgsConstructor
+    private static final class Document {
+
+        private final Long ownerId;
+
+        private final String name;
+
+        private final String description;
+
+        private int rank(String query) {
+            if (name.startsWith(query)) {
+                return 0;
+            }
+            if (name.contains(query)) {
+                return 1;
+            }
+            return description.contains(query) ? 2 : -1;
+        }
+
+        private Set<String> grams() {
+            Set<String> grams = InMemoryItemSearchEngine.grams(name);
+            grams.addAll(InMemoryItemSearchEngine.grams(description));
+            return grams;
+        }
+
+    }
+
+    @Value
+    private static class Hit {
+
+        int rank;
+
+        long itemId;
+
+    }
+
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+public interface ItemSearchEngine {
+
+    Set<BookingStatus> BUSY_STATUSES = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    List<Item> search(String text, int from, int size);
+
+    List<Item> searchAvailable(String text, LocalDateTime start, LocalDateTime end, int from, int size);
+
+    void index(Item item);
+
+    void removeByOwner(Long ownerId);
+
+}
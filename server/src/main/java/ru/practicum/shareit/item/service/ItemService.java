@@ -1,11 +1,12 @@
 package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBookingAndComments;
-import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.PageCursor;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
@@ -13,18 +14,25 @@ public interface ItemService {
 
     ItemDto saveItem(Long id, ItemDto itemDto);
 
+    List<ItemDto> saveItems(Long userId, List<ItemDto> itemDtos);
+
     ItemDto updateItem(Long userId, ItemDto itemDto, Long itemId);
 
     ItemDtoWithBookingAndComments getItemById(Long itemId, Long userId);
 
     List<ItemDtoWithBookingAndComments> getItemDtoByUserId(Long userId, int from, int size);
 
+    List<ItemDtoWithBookingAndComments> getItemDtoByUserIdAfter(Long userId, PageCursor after, int size);
+
+    ItemAvailabilityDto getAvailability(Long itemId, Long userId, LocalDateTime from, LocalDateTime to);
+
+    List<CommentDto> getComments(Long itemId, Long userId, int from, int size);
+
     CommentDto createComment(CommentDto commentDto, Long userId, Long itemId);
 
     Collection<ItemDto> getItemsDtoByRequest(String text, int from, int size);
 
-    User validateUser(Long userId);
-
-    Item validateItem(Long itemId);
+    Collection<ItemDto> getAvailableItemsDtoByRequest(String text, LocalDateTime start, LocalDateTime end,
+                                                      int from, int size);
 
 }
\ No newline at end of file
@@ -2,16 +2,22 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPair;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.util.BookingStatus;
-import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.dashboard.service.OwnerDashboardCounters;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentView;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBookingAndComments;
 import ru.practicum.shareit.item.mapper.CommentMapper;
@@ -20,14 +26,18 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.EntityLookup;
+import ru.practicum.shareit.util.PageCursor;
 
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.item.mapper.ItemMapper.*;
@@ -40,37 +50,61 @@ public class ItemServiceImpl implements ItemService {
 
     private final ItemRepository itemRepository;
 
-    private final UserRepository userRepository;
+    private final EntityLookup entityLookup;
 
     private final BookingRepository bookingRepository;
 
     private final CommentRepository commentsRepository;
 
+    private final ItemSearchEngine itemSearchEngine;
+
+    private final ItemAvailabilityIndex availabilityIndex;
+
+    private final OwnerDashboardCounters dashboardCounters;
+
+    @Value("${shareit.items.comments-per-item}")
+    private int commentsPerItem;
+
     @Override
     public ItemDto saveItem(Long userId, ItemDto itemDto) {
-        if (itemDto.getName().isEmpty() || itemDto.getAvailable() == null || itemDto.getDescription() == null) {
-            throw new ValidationException("Значение поля не задано");
-        }
-        if (userRepository.findById(userId).isEmpty()) {
-            throw new ObjectNotFoundException("Запрашиваемого пользователя не существует");
-        }
-        User user = validateUser(userId);
+        validateItem(itemDto);
+        User user = entityLookup.getUser(userId);
         itemDto.setOwner(userId);
         Item item = ItemMapper.toItem(itemDto, user);
         item = itemRepository.save(item);
+        itemSearchEngine.index(item);
+        dashboardCounters.itemsCreated(userId, 1);
         return ItemMapper.toItemDto(item);
     }
 
     @Override
-    public ItemDto updateItem(Long userId, ItemDto itemDto, Long itemId) {
-        User user = validateUser(userId);
-        Item excistedItem = itemRepository.findById(itemId).orElseThrow();
-        if (itemRepository.findById(itemId).orElseThrow().getOwner() == null) {
-            throw new ObjectNotFoundException("Данная вещь не принадлежит пользователю");
-        }
-        if (!userRepository.existsById(userId)) {
-            throw new ObjectNotFoundException(String.format("Пользователь с id = %d не найден", userId));
+    public List<ItemDto> saveItems(Long userId, List<ItemDto> itemDtos) {
+        itemDtos.forEach(ItemServiceImpl::validateItem);
+        User user = entityLookup.getUser(userId);
+        List<Item> items = itemDtos.stream()
+                .map(itemDto -> {
+                    itemDto.setId(null);
+                    return ItemMapper.toItem(itemDto, user);
+                })
+                .collect(Collectors.toList());
+        items = itemRepository.saveAll(items);
+        items.forEach(itemSearchEngine::index);
+        dashboardCounters.itemsCreated(userId, items.size());
+        log.info("Сохранено {} предметов пользователя userId={}", items.size(), userId);
+        return items.stream().map(ItemMapper::toItemDto).collect(Collectors.toList());
+    }
+
+    private static void validateItem(ItemDto itemDto) {
+        if (itemDto.getName() == null || itemDto.getName().isEmpty() || itemDto.getAvailable() == null
+                || itemDto.getDescription() == null) {
+            throw new ValidationException("Значение поля не задано");
         }
+    }
+
+    @Override
+    public ItemDto updateItem(Long userId, ItemDto itemDto, Long itemId) {
+        User user = entityLookup.getUser(userId);
+        Item excistedItem = entityLookup.getItem(itemId);
         Item item = Item.builder()
                 .id(itemId)
                 .name(itemDto.getName() != null ? itemDto.getName() : excistedItem.getName())
@@ -78,68 +112,129 @@ public class ItemServiceImpl implements ItemService {
                 .available(itemDto.getAvailable() != null ? itemDto.getAvailable() : excistedItem.getAvailable())
                 .owner(itemDto.getOwner() != null ? user : excistedItem.getOwner())
                 .build();
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        item = itemRepository.save(item);
+        itemSearchEngine.index(item);
+        return ItemMapper.toItemDto(item);
     }
 
     @Override
     @Transactional(readOnly = true)
     public ItemDtoWithBookingAndComments getItemById(Long itemId, Long userId) {
-        Item item = validateItem(itemId);
-        User user = validateUser(userId);
-        List<Booking> bookings = bookingRepository.findByItemId(itemId);
-        List<Comment> comments = commentsRepository.findByItemId(itemId);
-
-        return toItemDtoWBAC(item, user, bookings, comments);
+        entityLookup.checkUser(userId);
+        Item item = entityLookup.getItem(itemId);
+        Map<Long, BookingPair> bookingPairs = item.getOwner().getId().equals(userId)
+                ? findBookingPairs(List.of(itemId)) : Collections.emptyMap();
+        return toItemDtoWBAC(item, bookingPairs, findLatestComments(List.of(itemId)));
     }
 
     @Transactional(readOnly = true)
     @Override
     public List<ItemDtoWithBookingAndComments> getItemDtoByUserId(Long userId, int from, int size) {
         PageRequest pageRequest = PageRequest.of(from / size, size, Sort.by("id"));
-        User user = validateUser(userId);
-        List<Item> usersItems = itemRepository.findItemByOwnerId(user.getId(), pageRequest);
-        List<Booking> bookings = bookingRepository.findByItemOwnerIdOrderByStartDesc(userId);
-        List<Comment> comments = commentsRepository.findByItemIdIn(usersItems.stream()
-                .map(Item::getId).collect(Collectors.toList()));
+        entityLookup.checkUser(userId);
+        return toItemsWithBookingsAndComments(itemRepository.findItemByOwnerId(userId, pageRequest));
+    }
 
-        return usersItems.stream().map(Item -> ItemMapper.toItemDtoWBAC(Item, user, bookings, comments)).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    @Override
+    public List<ItemDtoWithBookingAndComments> getItemDtoByUserIdAfter(Long userId, PageCursor after, int size) {
+        entityLookup.checkUser(userId);
+        Long afterId = after == null ? 0L : after.getId();
+        return toItemsWithBookingsAndComments(itemRepository.findItemByOwnerIdAfter(userId, afterId,
+                PageRequest.of(0, size)));
+    }
+
+    private List<ItemDtoWithBookingAndComments> toItemsWithBookingsAndComments(List<Item> usersItems) {
+        if (usersItems.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> itemIds = usersItems.stream().map(Item::getId).collect(Collectors.toList());
+        Map<Long, BookingPair> bookingPairs = findBookingPairs(itemIds);
+        Map<Long, List<CommentView>> comments = findLatestComments(itemIds);
+
+        return usersItems.stream().map(Item -> ItemMapper.toItemDtoWBAC(Item, bookingPairs, comments)).collect(Collectors.toList());
+    }
+
+    private Map<Long, List<CommentView>> findLatestComments(Collection<Long> itemIds) {
+        return commentsRepository.findLatestByItemIdIn(itemIds, commentsPerItem).stream()
+                .collect(Collectors.groupingBy(CommentView::getItemId));
+    }
+
+    private Map<Long, BookingPair> findBookingPairs(Collection<Long> itemIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BookingPair> bookingPairs = new HashMap<>();
+        for (BookingDto booking : bookingRepository.findLastBookings(itemIds, BookingStatus.REJECTED, now)) {
+            BookingPair pair = bookingPairs.getOrDefault(booking.getItemId(), BookingPair.EMPTY);
+            if (pair.getLastBooking() == null || pair.getLastBooking().getId() < booking.getId()) {
+                bookingPairs.put(booking.getItemId(), pair.withLastBooking(booking));
+            }
+        }
+        for (BookingDto booking : bookingRepository.findNextBookings(itemIds, BookingStatus.REJECTED, now)) {
+            BookingPair pair = bookingPairs.getOrDefault(booking.getItemId(), BookingPair.EMPTY);
+            if (pair.getNextBooking() == null || pair.getNextBooking().getId() > booking.getId()) {
+                bookingPairs.put(booking.getItemId(), pair.withNextBooking(booking));
+            }
+        }
+        return bookingPairs;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ItemAvailabilityDto getAvailability(Long itemId, Long userId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Начало периода должно быть раньше его окончания");
+        }
+        entityLookup.checkUser(userId);
+        entityLookup.checkItem(itemId);
+        return availabilityIndex.getAvailability(itemId, from, to);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CommentDto> getComments(Long itemId, Long userId, int from, int size) {
+        entityLookup.checkUser(userId);
+        entityLookup.checkItem(itemId);
+        return commentsRepository.findByItemId(itemId, PageRequest.of(from / size, size)).stream()
+                .map(CommentMapper::commentDto)
+                .collect(Collectors.toList());
     }
 
     @Override
     public CommentDto createComment(CommentDto commentDto, Long userId, Long itemId) {
-        User user = validateUser(userId);
-        Item item = validateItem(itemId);
-        Booking booking = bookingRepository.findTopByStatusNotLikeAndItemIdAndBookerIdOrderByEndAsc(BookingStatus.REJECTED, itemId, userId);
+        User user = entityLookup.getUser(userId);
+        Item item = entityLookup.getItem(itemId);
+        Booking booking = bookingRepository.findEarliestEndingBooking(BookingStatus.REJECTED, itemId, userId)
+                .orElseThrow(() -> new IllegalArgumentException(String.format(
+                        "Предмет с id = %d не был забронирован пользователем с id = %d", itemId, userId)));
         Comment comment = CommentMapper.toComment(commentDto, user, item);
-        if (booking == null) {
-            throw new IllegalArgumentException(String.format("Предмет с id = %d не был забронирован пользователем с id = %d", itemId, userId));
-        }
         if (booking.getStart().isAfter(LocalDateTime.now())) {
             throw new IllegalArgumentException("Неправильная дата бронирования");
         }
-        return CommentMapper.commentDto(commentsRepository.save(comment));
+        comment = commentsRepository.save(comment);
+        dashboardCounters.commentCreated(item.getOwner().getId());
+        return CommentMapper.commentDto(comment);
     }
 
     @Transactional(readOnly = true)
     @Override
     public Collection<ItemDto> getItemsDtoByRequest(String text, int from, int size) {
-        PageRequest pageRequest = PageRequest.of(from / size, size, Sort.by("id"));
         if (text.isBlank() || text.isEmpty()) {
             return Collections.emptyList();
         }
-        return ItemMapper.listToItemDto(itemRepository.search(text,pageRequest));
-    }
-
-    @Override
-    public User validateUser(Long userId) {
-        return userRepository.findById(userId).orElseThrow(() -> new ObjectNotFoundException(String.format(
-                "Пользователь с id = %d не найден", userId)));
+        return ItemMapper.listToItemDto(itemSearchEngine.search(text, from, size));
     }
 
+    @Transactional(readOnly = true)
     @Override
-    public Item validateItem(Long itemId) {
-        return itemRepository.findById(itemId).orElseThrow(() -> new ObjectNotFoundException(String.format(
-                "Предмет с id = %d не найден", itemId)));
+    public Collection<ItemDto> getAvailableItemsDtoByRequest(String text, LocalDateTime start, LocalDateTime end,
+                                                             int from, int size) {
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("Начало периода должно быть раньше его окончания");
+        }
+        if (text.isBlank()) {
+            return Collections.emptyList();
+        }
+        return ItemMapper.listToItemDto(itemSearchEngine.searchAvailable(text, start, end, from, size));
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    // Сколько SQL-запросов может выполнить обработчик, не считая пакетные вставки по отдельности
+    int value();
+
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class SqlMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String STATEMENTS_METRIC = "shareit.sql.statements";
+
+    public static final String TIME_METRIC = "shareit.sql.time";
+
+    public static final String BUDGET_EXCEEDED_METRIC = "shareit.sql.budget.exceeded";
+
+    private final MeterRegistry meterRegistry;
+
+    public SqlMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryBudget budget = handler instanceof HandlerMethod
+                ? ((HandlerMethod) handler).getMethodAnnotation(QueryBudget.class) : null;
+        SqlStatementStats.begin(request.getMethod() + " " + uri(request), budget != null ? budget.value() : 0);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        SqlStatementStats.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        SqlStatementStats.end().ifPresent(stats -> {
+            String method = request.getMethod();
+            String uri = uri(request);
+            DistributionSummary.builder(STATEMENTS_METRIC)
+                    .description("SQL statements executed per HTTP request")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(stats.getStatements());
+            Timer.builder(TIME_METRIC)
+                    .description("Time spent in SQL per HTTP request")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(stats.getElapsedNanos(), TimeUnit.NANOSECONDS);
+            if (stats.isOverBudget()) {
+                log.warn("{} выполнил {} SQL-запросов при бюджете {}", stats.getEndpoint(), stats.getStatements(),
+                        stats.getBudget());
+                Counter.builder(BUDGET_EXCEEDED_METRIC)
+                        .description("HTTP requests that ran more SQL statements than their declared budget")
+                        .tag("method", method)
+                        .tag("uri", uri)
+                        .register(meterRegistry)
+                        .increment();
+            }
+        });
+    }
+
+    static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+}
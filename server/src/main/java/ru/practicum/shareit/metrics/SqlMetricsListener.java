@@ -0,0 +1,73 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import ru.practicum.shareit.exception.SqlBudgetExceededException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class SqlMetricsListener implements QueryExecutionListener {
+
+    private static final String START_NANOS = "shareit.startNanos";
+
+    private final SqlProperties properties;
+
+    public SqlMetricsListener(SqlProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    // Пакетная вставка считается одним обращением к базе
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Optional<SqlStatementStats> stats = SqlStatementStats.current();
+        long elapsedNanos = elapsedNanos(execInfo);
+        if (elapsedNanos >= properties.getSlowQueryThreshold().toNanos()) {
+            log.warn("Медленный SQL-запрос ({} мс) в {}: {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    stats.map(SqlStatementStats::getEndpoint).orElse("фоновой задаче"), describe(queryInfoList));
+        }
+        if (stats.isEmpty()) {
+            return;
+        }
+        stats.get().record(elapsedNanos);
+        if (properties.isFailOnBudgetExceeded() && stats.get().isBudgetJustExceeded()) {
+            throw new SqlBudgetExceededException(String.format(
+                    "%s выполнил больше %d SQL-запросов, последний: %s", stats.get().getEndpoint(),
+                    stats.get().getBudget(), describe(queryInfoList)));
+        }
+    }
+
+    // getElapsedTime() считается в миллисекундах, и большинство запросов дают в нём ноль
+    private static long elapsedNanos(ExecutionInfo execInfo) {
+        Long startNanos = execInfo.getCustomValue(START_NANOS, Long.class);
+        return startNanos != null ? System.nanoTime() - startNanos
+                : TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+    }
+
+    static String describe(List<QueryInfo> queryInfoList) {
+        return queryInfoList.stream()
+                .map(queryInfo -> queryInfo.getQuery() + " " + queryInfo.getParametersList().stream()
+                        .map(SqlMetricsListener::describeParameters)
+                        .collect(Collectors.joining(", ")))
+                .collect(Collectors.joining("; "));
+    }
+
+    private static String describeParameters(List<ParameterSetOperation> parameters) {
+        return parameters.stream()
+                .map(ParameterSetOperation::getArgs)
+                .map(args -> args[0] + "=" + (args.length > 1 ? args[1] : null))
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.sql")
+public class SqlProperties {
+
+    private Duration slowQueryThreshold = Duration.ofMillis(200);
+
+    private boolean failOnBudgetExceeded = false;
+
+}
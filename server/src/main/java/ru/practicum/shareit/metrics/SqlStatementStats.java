@@ -0,0 +1,68 @@
+package ru.practicum.shareit.metrics;
+
+import java.util.Optional;
+
+public final class SqlStatementStats {
+
+    // Запросы из других потоков (асинхронная выгрузка, планировщик) в счётчик HTTP-запроса не попадают
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private final String endpoint;
+
+    private final int budget;
+
+    private int statements;
+
+    private long elapsedNanos;
+
+    private SqlStatementStats(String endpoint, int budget) {
+        this.endpoint = endpoint;
+        this.budget = budget;
+    }
+
+    public static SqlStatementStats begin(String endpoint, int budget) {
+        SqlStatementStats stats = new SqlStatementStats(endpoint, budget);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static Optional<SqlStatementStats> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    public static Optional<SqlStatementStats> end() {
+        Optional<SqlStatementStats> stats = current();
+        CURRENT.remove();
+        return stats;
+    }
+
+    void record(long statementNanos) {
+        statements++;
+        elapsedNanos += statementNanos;
+    }
+
+    public boolean isOverBudget() {
+        return budget > 0 && statements > budget;
+    }
+
+    boolean isBudgetJustExceeded() {
+        return budget > 0 && statements == budget + 1;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+}
@@ -2,11 +2,13 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestWithItems;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.util.PageCursor;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
@@ -37,13 +39,18 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemRequestWithItems> getAllRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public ResponseEntity<List<ItemRequestWithItems>> getAllRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                      @RequestParam(defaultValue = "0")
                                                      @Min(0) Integer from,
                                                      @RequestParam(defaultValue = "10")
-                                                     @Positive Integer size) {
+                                                     @Positive Integer size,
+                                                     @RequestParam(required = false) String after) {
         log.info("Создан запрос на получение всех предметов");
-        return itemRequestService.getAllRequestsByPageable(userId, from, size);
+        List<ItemRequestWithItems> requests = after == null
+                ? itemRequestService.getAllRequestsByPageable(userId, from, size)
+                : itemRequestService.getAllRequestsAfter(userId, PageCursor.decode(after), size);
+        return after == null ? ResponseEntity.ok(requests)
+                : PageCursor.page(requests, size, request -> PageCursor.of(request.getCreated(), request.getId()));
     }
 
     @GetMapping("/{requestId}")
@@ -28,4 +28,6 @@ public class ItemRequestWithItems {
 
     Collection<ItemDto> items;
 
+    Long itemsCount;
+
 }
\ No newline at end of file
@@ -31,11 +31,17 @@ public class ItemRequestMapper {
     }
 
     public ItemRequestWithItems toItemRequestWithItems(ItemRequest itemRequest, Collection<ItemDto> itemDtoList) {
+        return toItemRequestWithItems(itemRequest, itemDtoList, itemDtoList.size());
+    }
+
+    public ItemRequestWithItems toItemRequestWithItems(ItemRequest itemRequest, Collection<ItemDto> itemDtoList,
+                                                       long itemsCount) {
         return ItemRequestWithItems.builder()
                 .id(itemRequest.getId())
                 .description(itemRequest.getDescription())
                 .requestor(itemRequest.getRequestor())
                 .items(itemDtoList)
+                .itemsCount(itemsCount)
                 .created(itemRequest.getCreated())
                 .build();
     }
@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class ItemRequest {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "REQUESTS_SEQ", allocationSize = 50)
     @Column(name = "request_id",nullable = false)
     Long id;
 
@@ -2,13 +2,22 @@ package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+    @Query("select r from ItemRequest r where r.requestor.id = ?1")
     List<ItemRequest> findByRequestorId(Long requestsId);
 
+    @Query("select r from ItemRequest r where r.requestor.id <> ?1")
     List<ItemRequest> findAllByRequestorIdNot(Long userId, Pageable pageable);
 
+    @Query("select r from ItemRequest r where r.requestor.id <> ?1 " +
+            "and r.created <= ?2 and (r.created < ?2 or r.id < ?3) " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequest> findAllByRequestorIdNotBefore(Long userId, LocalDateTime created, Long requestId, Pageable pageable);
+
 }
\ No newline at end of file
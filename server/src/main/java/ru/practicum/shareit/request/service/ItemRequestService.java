@@ -2,6 +2,7 @@ package ru.practicum.shareit.request.service;
 
 import ru.practicum.shareit.request.dto.ItemRequestWithItems;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.util.List;
 
@@ -14,4 +15,6 @@ public interface ItemRequestService {
 
     List<ItemRequestWithItems> getAllRequestsByPageable(Long userId, Integer from, Integer size);
 
+    List<ItemRequestWithItems> getAllRequestsAfter(Long userId, PageCursor after, Integer size);
+
 }
\ No newline at end of file
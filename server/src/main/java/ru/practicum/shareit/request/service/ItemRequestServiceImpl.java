@@ -2,6 +2,7 @@ package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.RequestItemView;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestWithItems;
@@ -16,13 +18,14 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
-import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.EntityLookup;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,13 +35,11 @@ import java.util.stream.Collectors;
 public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestRepository itemRequestRepository;
-    private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final EntityLookup entityLookup;
 
-    private User validateUser(Long userId) {
-        return userRepository.findById(userId).orElseThrow(() -> new ObjectNotFoundException(String.format(
-                "Пользователь с id = %d не найден", userId)));
-    }
+    @Value("${shareit.requests.items-per-request}")
+    private int itemsPerRequest;
 
     private ItemRequest validateRequestItem(Long requestItemId) {
         return itemRequestRepository.findById(requestItemId).orElseThrow(() -> new ObjectNotFoundException(String.format(
@@ -49,8 +50,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public ItemRequestDto createRequest(ItemRequestDto itemRequestDto, Long userId) {
 
         LocalDateTime now = LocalDateTime.now();
-        ItemRequest itemRequest = ItemRequestMapper.toItemRequest(itemRequestDto,validateUser(userId));
-        itemRequest.setRequestor(validateUser(userId));
+        ItemRequest itemRequest = ItemRequestMapper.toItemRequest(itemRequestDto, entityLookup.getUser(userId));
         itemRequest.setCreated(now);
         return ItemRequestMapper.toItemRequestDto(itemRequestRepository.save(itemRequest));
 }
@@ -58,28 +58,34 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Transactional(readOnly = true)
     @Override
     public List<ItemRequestWithItems> getItemsRequestByRequestorId(Long userId) {
-        validateUser(userId);
+        entityLookup.checkUser(userId);
         List<ItemRequest> itemRequests = itemRequestRepository.findByRequestorId(userId);
         return createItemsForRequest(itemRequests);
     }
 
     private List<ItemRequestWithItems> createItemsForRequest(List<ItemRequest> itemRequests) {
-        Collection<Long> itemsId = itemRequests.stream().map(ItemRequest::getId).collect(Collectors.toList());
-        List<ItemDto> itemDtoList = itemRepository.findByRequestIdIn(itemsId)
+        Collection<Long> requestIds = itemRequests.stream().map(ItemRequest::getId).collect(Collectors.toList());
+        Map<Long, List<RequestItemView>> itemsByRequest = itemRepository.findFirstByRequestIdIn(requestIds, itemsPerRequest)
                 .stream()
-                .map(ItemMapper::toItemDto)
-                .collect(Collectors.toList());
+                .collect(Collectors.groupingBy(RequestItemView::getRequestId));
 
         return itemRequests.stream()
-                .map(ItemRequest -> ItemRequestMapper.toItemRequestWithItems(ItemRequest, itemDtoList))
+                .map(itemRequest -> toItemRequestWithItems(itemRequest,
+                        itemsByRequest.getOrDefault(itemRequest.getId(), Collections.emptyList())))
                 .collect(Collectors.toList());
     }
 
+    private ItemRequestWithItems toItemRequestWithItems(ItemRequest itemRequest, List<RequestItemView> items) {
+        List<ItemDto> itemDtoList = items.stream().map(ItemMapper::toItemDto).collect(Collectors.toList());
+        long itemsCount = items.isEmpty() ? 0 : items.get(0).getTotal();
+        return ItemRequestMapper.toItemRequestWithItems(itemRequest, itemDtoList, itemsCount);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public List<ItemRequestWithItems> getAllRequestsByPageable(Long userId, Integer from, Integer size) {
-        validateUser(userId);
-        Pageable page = PageRequest.of(from / size, size, Sort.by("created").descending());
+        entityLookup.checkUser(userId);
+        Pageable page = PageRequest.of(from / size, size, Sort.by("created", "id").descending());
         List<ItemRequest> itemsList = itemRequestRepository.findAllByRequestorIdNot(userId, page);
         if (itemsList.isEmpty()) {
             return Collections.emptyList();
@@ -87,17 +93,33 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return createItemsForRequest(itemsList);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public List<ItemRequestWithItems> getAllRequestsAfter(Long userId, PageCursor after, Integer size) {
+        entityLookup.checkUser(userId);
+        List<ItemRequest> itemsList;
+        if (after == null) {
+            itemsList = itemRequestRepository.findAllByRequestorIdNot(userId,
+                    PageRequest.of(0, size, Sort.by("created", "id").descending()));
+        } else if (after.getPosition() == null) {
+            throw new IllegalArgumentException(String.format("Некорректный курсор: %s", after.encode()));
+        } else {
+            itemsList = itemRequestRepository.findAllByRequestorIdNotBefore(userId, after.getPosition(),
+                    after.getId(), PageRequest.of(0, size));
+        }
+        if (itemsList.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return createItemsForRequest(itemsList);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public ItemRequestWithItems getRequestById(Long userId, Long requestId) {
-        validateUser(userId);
+        entityLookup.checkUser(userId);
         ItemRequest itemRequest = validateRequestItem(requestId);
 
-        List<ItemDto> itemDtoList = itemRepository.findByRequestId(requestId)
-                .stream()
-                .map(ItemMapper::toItemDto).collect(Collectors.toList());
-
-        return ItemRequestMapper.toItemRequestWithItems(itemRequest, itemDtoList);
+        return createItemsForRequest(List.of(itemRequest)).get(0);
     }
 
 }
\ No newline at end of file
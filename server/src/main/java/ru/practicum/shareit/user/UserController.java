@@ -1,14 +1,24 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.PageCursor;
 
 import javax.validation.Valid;
-import java.util.Collection;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
 
 @RequiredArgsConstructor
 @RestController
@@ -19,6 +29,8 @@ public class UserController {
 
     private final UserService userService;
 
+    private final ObjectMapper objectMapper;
+
     @PostMapping
     public UserDto create(@Valid @RequestBody UserDto userDto) {
         log.info("Создан пользователь user={}", userDto);
@@ -45,9 +57,32 @@ public class UserController {
     }
 
     @GetMapping
-    public Collection<UserDto> findAllUsers() {
-        log.info("Найдено пользователей userId={}", userService.findAllUsers().size());
-        return userService.findAllUsers();
+    public ResponseEntity<List<UserDto>> findUsers(@RequestParam(name = "size", defaultValue = "100") int size,
+                                                   @RequestParam(required = false) String after) {
+        List<UserDto> users = userService.findUsers(PageCursor.decode(after), size);
+        log.info("Найдено пользователей {}", users.size());
+        return PageCursor.page(users, size, user -> PageCursor.of(user.getId()));
+    }
+
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        log.info("Запрошена выгрузка всех пользователей");
+        ObjectWriter writer = objectMapper.writerFor(UserDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = output -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+            generator.setRootValueSeparator(null);
+            userService.exportUsers(user -> {
+                try {
+                    writer.writeValue(generator, user);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
 }
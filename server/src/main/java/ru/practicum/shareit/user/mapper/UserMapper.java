@@ -4,9 +4,6 @@ import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.dto.UserDto;
 
-import java.util.Collection;
-import java.util.stream.Collectors;
-
 @UtilityClass
 public class UserMapper {
 
@@ -26,10 +23,4 @@ public class UserMapper {
                 .build();
     }
 
-    public static Collection<UserDto> listToUserDto(Collection<User> users) {
-        return users.stream()
-                .map(UserMapper::toUserDto)
-                .collect(Collectors.toList());
-    }
-
 }
\ No newline at end of file
@@ -2,7 +2,10 @@ package ru.practicum.shareit.user.service;
 
 import ru.practicum.shareit.user.dto.UserDto;
 
-import java.util.Collection;
+import ru.practicum.shareit.util.PageCursor;
+
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
 
@@ -14,6 +17,8 @@ public interface UserService {
 
     UserDto deleteUser(Long userId);
 
-    Collection<UserDto> findAllUsers();
+    List<UserDto> findUsers(PageCursor after, int size);
+
+    void exportUsers(Consumer<UserDto> consumer);
 
 }
\ No newline at end of file
@@ -1,15 +1,24 @@
 package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.dashboard.service.OwnerDashboardCounters;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.PageCursor;
 
-import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -18,9 +27,14 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
 
+    private final OwnerDashboardCounters dashboardCounters;
+
+    private final ItemSearchEngine itemSearchEngine;
+
     @Override
     public UserDto saveUser(UserDto userDto) {
         User user = userRepository.save(UserMapper.toUser(userDto));
+        dashboardCounters.ownerCreated(user.getId());
         return UserMapper.toUserDto(user);
     }
 
@@ -40,23 +54,37 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public UserDto findUserById(Long userId) {
-        User newUser = userRepository.findById(userId).orElseThrow(() -> new ObjectNotFoundException(
+        return userRepository.findDtoById(userId).orElseThrow(() -> new ObjectNotFoundException(
                 String.format("Пользователь с таким id = %d не найден", userId)));
-        return UserMapper.toUserDto(newUser);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId"),
+            @CacheEvict(cacheNames = CacheConfig.ITEMS, allEntries = true)
+    })
     public UserDto deleteUser(Long userId) {
         UserDto userDto = findUserById(userId);
         User user = UserMapper.toUser(userDto);
+        dashboardCounters.userDeleted(userId);
         userRepository.delete(user);
+        itemSearchEngine.removeByOwner(userId);
         return userDto;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Collection<UserDto> findAllUsers() {
-        return UserMapper.listToUserDto(userRepository.findAll());
+    public List<UserDto> findUsers(PageCursor after, int size) {
+        Long afterId = after == null ? 0L : after.getId();
+        return userRepository.findDtosAfter(afterId, PageRequest.of(0, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportUsers(Consumer<UserDto> consumer) {
+        try (Stream<UserDto> users = userRepository.streamAllDtos()) {
+            users.forEach(consumer);
+        }
     }
 
 }
\ No newline at end of file
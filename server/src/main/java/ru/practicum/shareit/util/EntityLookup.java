@@ -0,0 +1,58 @@
+package ru.practicum.shareit.util;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+// В кэше лежат только id существующих записей: сущности JPA не переживают транзакцию и не должны
+// разделяться между потоками. Существование меняет лишь удаление пользователя, оно и сбрасывает кэши.
+// Когда нужны поля или связь, сущность читается заново в транзакции вызывающего.
+@Component
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class EntityLookup {
+
+    private final UserRepository userRepository;
+
+    private final ItemRepository itemRepository;
+
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#userId")
+    public Long checkUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw userNotFound(userId);
+        }
+        return userId;
+    }
+
+    @Cacheable(cacheNames = CacheConfig.ITEMS, key = "#itemId")
+    public Long checkItem(Long itemId) {
+        if (!itemRepository.existsById(itemId)) {
+            throw itemNotFound(itemId);
+        }
+        return itemId;
+    }
+
+    public User getUser(Long userId) {
+        return userRepository.findById(userId).orElseThrow(() -> userNotFound(userId));
+    }
+
+    public Item getItem(Long itemId) {
+        return itemRepository.findWithOwnerById(itemId).orElseThrow(() -> itemNotFound(itemId));
+    }
+
+    private static ObjectNotFoundException userNotFound(Long userId) {
+        return new ObjectNotFoundException(String.format("Пользователь с id = %d не найден", userId));
+    }
+
+    private static ObjectNotFoundException itemNotFound(Long itemId) {
+        return new ObjectNotFoundException(String.format("Предмет с id = %d не найден.", itemId));
+    }
+
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.util;
+
+import lombok.Value;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.function.Function;
+
+@Value
+public class PageCursor {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String SEPARATOR = "|";
+
+    LocalDateTime position;
+
+    Long id;
+
+    public static PageCursor of(LocalDateTime position, Long id) {
+        return new PageCursor(position, id);
+    }
+
+    public static PageCursor of(Long id) {
+        return new PageCursor(null, id);
+    }
+
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            String position = value.substring(0, separator);
+            return new PageCursor(position.isEmpty() ? null : LocalDateTime.parse(position),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException exception) {
+            throw new IllegalArgumentException(String.format("Некорректный курсор: %s", cursor));
+        }
+    }
+
+    public String encode() {
+        String value = (position == null ? "" : position.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Только для обхода по after (пустой after - первая страница): при смещении from
+    // последняя запись страницы не продолжает выдачу, и курсор по ней не отдаётся
+    public static <T, C extends Collection<T>> ResponseEntity<C> page(C content, int size,
+                                                                      Function<T, PageCursor> cursor) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (content.size() == size) {
+            T last = null;
+            for (T element : content) {
+                last = element;
+            }
+            response.header(NEXT_CURSOR_HEADER, cursor.apply(last).encode());
+        }
+        return response.body(content);
+    }
+
+}
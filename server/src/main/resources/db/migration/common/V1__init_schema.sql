@@ -1,5 +1,3 @@
-DROP TABLE IF EXISTS USERS, ITEMS, REQUESTS, COMMENTS, BOOKINGS CASCADE;
-
 CREATE TABLE IF NOT EXISTS USERS (
     user_id  bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     name     varchar(50) NOT NULL,
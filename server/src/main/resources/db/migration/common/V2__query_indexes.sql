@@ -0,0 +1,19 @@
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_BOOKER_START ON BOOKINGS (booker_id, start_date DESC);
+
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_BOOKER_STATUS_START ON BOOKINGS (booker_id, status, start_date DESC);
+
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_ITEM_START ON BOOKINGS (item_id, start_date DESC);
+
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_ITEM_STATUS_START ON BOOKINGS (item_id, status, start_date);
+
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_ITEM_BOOKER_END ON BOOKINGS (item_id, booker_id, end_date);
+
+CREATE INDEX IF NOT EXISTS IX_ITEMS_OWNER ON ITEMS (owner_id, item_id);
+
+CREATE INDEX IF NOT EXISTS IX_ITEMS_REQUEST ON ITEMS (requests_id);
+
+CREATE INDEX IF NOT EXISTS IX_COMMENTS_ITEM_CREATED ON COMMENTS (item_id, created);
+
+CREATE INDEX IF NOT EXISTS IX_REQUESTS_REQUESTOR_CREATED ON REQUESTS (requestor_id, created DESC);
+
+CREATE INDEX IF NOT EXISTS IX_REQUESTS_CREATED ON REQUESTS (created DESC);
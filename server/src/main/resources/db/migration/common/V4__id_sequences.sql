@@ -0,0 +1,5 @@
+CREATE SEQUENCE IF NOT EXISTS USERS_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS REQUESTS_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS ITEMS_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS BOOKINGS_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS COMMENTS_SEQ START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_ITEM_STATUS_PERIOD ON BOOKINGS (item_id, status, start_date, end_date);
+
+DROP INDEX IF EXISTS IX_BOOKINGS_ITEM_STATUS_START;
@@ -0,0 +1,16 @@
+ALTER TABLE BOOKINGS ADD COLUMN IF NOT EXISTS phase varchar(16) NOT NULL DEFAULT 'UPCOMING';
+
+UPDATE BOOKINGS SET phase = CASE
+    WHEN end_date <= CURRENT_TIMESTAMP THEN 'FINISHED'
+    WHEN start_date <= CURRENT_TIMESTAMP THEN 'ACTIVE'
+    ELSE 'UPCOMING' END;
+
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_BOOKER_PHASE_START ON BOOKINGS (booker_id, phase, start_date DESC);
+
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_ITEM_PHASE_START ON BOOKINGS (item_id, phase, start_date DESC);
+
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_PHASE_START ON BOOKINGS (phase, start_date);
+
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_PHASE_END ON BOOKINGS (phase, end_date);
+
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_STATUS_START ON BOOKINGS (status, start_date);
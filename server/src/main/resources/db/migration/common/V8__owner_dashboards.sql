@@ -0,0 +1,34 @@
+CREATE TABLE IF NOT EXISTS OWNER_DASHBOARDS (
+    owner_id bigint PRIMARY KEY REFERENCES USERS(user_id) ON DELETE CASCADE,
+    waiting bigint NOT NULL DEFAULT 0,
+    approved bigint NOT NULL DEFAULT 0,
+    rejected bigint NOT NULL DEFAULT 0,
+    canceled bigint NOT NULL DEFAULT 0,
+    upcoming bigint NOT NULL DEFAULT 0,
+    active bigint NOT NULL DEFAULT 0,
+    finished bigint NOT NULL DEFAULT 0,
+    items bigint NOT NULL DEFAULT 0,
+    comments bigint NOT NULL DEFAULT 0
+);
+
+INSERT INTO OWNER_DASHBOARDS (owner_id, waiting, approved, rejected, canceled, upcoming, active, finished, items,
+                              comments)
+SELECT u.user_id,
+       (SELECT COUNT(*) FROM BOOKINGS b JOIN ITEMS i ON i.item_id = b.item_id
+        WHERE i.owner_id = u.user_id AND b.status = 'WAITING'),
+       (SELECT COUNT(*) FROM BOOKINGS b JOIN ITEMS i ON i.item_id = b.item_id
+        WHERE i.owner_id = u.user_id AND b.status = 'APPROVED'),
+       (SELECT COUNT(*) FROM BOOKINGS b JOIN ITEMS i ON i.item_id = b.item_id
+        WHERE i.owner_id = u.user_id AND b.status = 'REJECTED'),
+       (SELECT COUNT(*) FROM BOOKINGS b JOIN ITEMS i ON i.item_id = b.item_id
+        WHERE i.owner_id = u.user_id AND b.status = 'CANCELED'),
+       (SELECT COUNT(*) FROM BOOKINGS b JOIN ITEMS i ON i.item_id = b.item_id
+        WHERE i.owner_id = u.user_id AND b.phase = 'UPCOMING'),
+       (SELECT COUNT(*) FROM BOOKINGS b JOIN ITEMS i ON i.item_id = b.item_id
+        WHERE i.owner_id = u.user_id AND b.phase = 'ACTIVE'),
+       (SELECT COUNT(*) FROM BOOKINGS b JOIN ITEMS i ON i.item_id = b.item_id
+        WHERE i.owner_id = u.user_id AND b.phase = 'FINISHED'),
+       (SELECT COUNT(*) FROM ITEMS i WHERE i.owner_id = u.user_id),
+       (SELECT COUNT(*) FROM COMMENTS c JOIN ITEMS i ON i.item_id = c.item_id WHERE i.owner_id = u.user_id)
+FROM USERS u
+WHERE NOT EXISTS (SELECT 1 FROM OWNER_DASHBOARDS d WHERE d.owner_id = u.user_id);
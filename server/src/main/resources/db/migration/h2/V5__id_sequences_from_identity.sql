@@ -0,0 +1,5 @@
+ALTER TABLE USERS ALTER COLUMN user_id DROP IDENTITY;
+ALTER TABLE REQUESTS ALTER COLUMN request_id DROP IDENTITY;
+ALTER TABLE ITEMS ALTER COLUMN item_id DROP IDENTITY;
+ALTER TABLE BOOKINGS ALTER COLUMN booking_id DROP IDENTITY;
+ALTER TABLE COMMENTS ALTER COLUMN comment_id DROP IDENTITY;
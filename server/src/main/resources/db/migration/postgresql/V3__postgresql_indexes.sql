@@ -0,0 +1,9 @@
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_BOOKER_WAITING ON BOOKINGS (booker_id, start_date DESC) WHERE status = 'WAITING';
+
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_ITEM_WAITING ON BOOKINGS (item_id, start_date DESC) WHERE status = 'WAITING';
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS IX_ITEMS_NAME_TRGM ON ITEMS USING gin (upper(name) gin_trgm_ops) WHERE is_available;
+
+CREATE INDEX IF NOT EXISTS IX_ITEMS_DESCRIPTION_TRGM ON ITEMS USING gin (upper(description) gin_trgm_ops) WHERE is_available;
@@ -0,0 +1,11 @@
+SELECT setval('USERS_SEQ', COALESCE((SELECT MAX(user_id) FROM USERS), 0) + 50, false);
+SELECT setval('REQUESTS_SEQ', COALESCE((SELECT MAX(request_id) FROM REQUESTS), 0) + 50, false);
+SELECT setval('ITEMS_SEQ', COALESCE((SELECT MAX(item_id) FROM ITEMS), 0) + 50, false);
+SELECT setval('BOOKINGS_SEQ', COALESCE((SELECT MAX(booking_id) FROM BOOKINGS), 0) + 50, false);
+SELECT setval('COMMENTS_SEQ', COALESCE((SELECT MAX(comment_id) FROM COMMENTS), 0) + 50, false);
+
+ALTER TABLE USERS ALTER COLUMN user_id DROP IDENTITY IF EXISTS;
+ALTER TABLE REQUESTS ALTER COLUMN request_id DROP IDENTITY IF EXISTS;
+ALTER TABLE ITEMS ALTER COLUMN item_id DROP IDENTITY IF EXISTS;
+ALTER TABLE BOOKINGS ALTER COLUMN booking_id DROP IDENTITY IF EXISTS;
+ALTER TABLE COMMENTS ALTER COLUMN comment_id DROP IDENTITY IF EXISTS;
@@ -0,0 +1,288 @@
+package ru.practicum.shareit;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.StreamUtils;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingSpecifications;
+import ru.practicum.shareit.booking.util.BookingState;
+import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.booking.util.BookingTransition;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.PageCursor;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.RepositoryQueryPlanTest$CapturingStatementInspector")
+class RepositoryQueryPlanTest {
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+
+    private static final Pattern TABLE_SCAN = Pattern.compile("PUBLIC\\.(\\w+)\\.tableScan");
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Autowired
+    ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        STATEMENTS.clear();
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM USERS", Long.class) > 0) {
+            return;
+        }
+        jdbcTemplate.execute("INSERT INTO USERS (user_id, name, email) " +
+                "SELECT X, 'user' || X, 'user' || X || '@mail.ru' FROM SYSTEM_RANGE(1, 500)");
+        jdbcTemplate.execute("INSERT INTO REQUESTS (request_id, created, description, requestor_id) " +
+                "SELECT X, DATEADD('HOUR', -X, NOW()), 'request', MOD(X, 500) + 1 FROM SYSTEM_RANGE(1, 2000)");
+        jdbcTemplate.execute("INSERT INTO ITEMS (item_id, name, description, is_available, owner_id, requests_id) " +
+                "SELECT X, 'item' || X, 'description', TRUE, MOD(X, 500) + 1, " +
+                "CASE WHEN MOD(X, 4) = 0 THEN MOD(X, 2000) + 1 END FROM SYSTEM_RANGE(1, 5000)");
+        jdbcTemplate.execute("INSERT INTO BOOKINGS (booking_id, start_date, end_date, item_id, booker_id, status, phase) " +
+                "SELECT X, DATEADD('HOUR', X - 25000, NOW()), DATEADD('HOUR', X - 24990, NOW()), " +
+                "MOD(X, 5000) + 1, MOD(X * 7, 500) + 1, " +
+                "CASE MOD(X, 3) WHEN 0 THEN 'WAITING' WHEN 1 THEN 'APPROVED' ELSE 'REJECTED' END, " +
+                "CASE WHEN X < 24990 THEN 'FINISHED' WHEN X < 25000 THEN 'ACTIVE' ELSE 'UPCOMING' END " +
+                "FROM SYSTEM_RANGE(1, 50000)");
+        jdbcTemplate.execute("INSERT INTO COMMENTS (comment_id, text, item_id, author_id, created) " +
+                "SELECT X, 'text', MOD(X, 5000) + 1, MOD(X, 500) + 1, NOW() FROM SYSTEM_RANGE(1, 20000)");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void migrations_thenCreateQueryIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME LIKE 'IX_%'", String.class);
+
+        assertTrue(indexes.containsAll(List.of("IX_BOOKINGS_BOOKER_START", "IX_BOOKINGS_BOOKER_STATUS_START",
+                "IX_BOOKINGS_ITEM_START", "IX_BOOKINGS_ITEM_STATUS_PERIOD", "IX_BOOKINGS_ITEM_BOOKER_END",
+                "IX_ITEMS_OWNER", "IX_ITEMS_REQUEST", "IX_COMMENTS_ITEM_CREATED",
+                "IX_REQUESTS_REQUESTOR_CREATED", "IX_REQUESTS_CREATED", "IX_BOOKINGS_BOOKER_PHASE_START",
+                "IX_BOOKINGS_ITEM_PHASE_START", "IX_BOOKINGS_PHASE_START", "IX_BOOKINGS_PHASE_END",
+                "IX_BOOKINGS_STATUS_START")), indexes.toString());
+    }
+
+    @Test
+    void migrations_thenIdsComeOnlyFromHibernateSequences() {
+        List<Map<String, Object>> idColumns = jdbcTemplate.queryForList("SELECT TABLE_NAME, IS_IDENTITY, COLUMN_DEFAULT "
+                + "FROM INFORMATION_SCHEMA.COLUMNS WHERE (TABLE_NAME, COLUMN_NAME) IN (('USERS', 'USER_ID'), "
+                + "('REQUESTS', 'REQUEST_ID'), ('ITEMS', 'ITEM_ID'), ('BOOKINGS', 'BOOKING_ID'), "
+                + "('COMMENTS', 'COMMENT_ID'))");
+
+        assertEquals(5, idColumns.size(), idColumns.toString());
+        for (Map<String, Object> column : idColumns) {
+            assertEquals("NO", column.get("IS_IDENTITY"), column.toString());
+            assertNull(column.get("COLUMN_DEFAULT"), column.toString());
+        }
+    }
+
+    @Test
+    void repositoryQueries_thenNeverScanWholeTable() {
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        for (BookingState state : List.of(BookingState.ALL, BookingState.CURRENT, BookingState.PAST,
+                BookingState.FUTURE, BookingState.WAITING)) {
+            queries.put("findBookings booker " + state, () -> bookingRepository.findBookings(
+                    BookingSpecifications.byBooker(1L).and(BookingSpecifications.inStates(Set.of(state), now)), 0, 10));
+            queries.put("findBookings owner " + state, () -> bookingRepository.findBookings(
+                    BookingSpecifications.byItemOwner(1L).and(BookingSpecifications.inStates(Set.of(state), now)), 0, 10));
+        }
+        queries.put("findBookings owner WAITING,CURRENT", () -> bookingRepository.findBookings(
+                BookingSpecifications.byItemOwner(1L).and(BookingSpecifications.inStates(
+                        Set.of(BookingState.WAITING, BookingState.CURRENT), now)), 0, 10));
+        queries.put("findEarliestEndingBooking",
+                () -> bookingRepository.findEarliestEndingBooking(BookingStatus.REJECTED, 1L, 1L));
+        queries.put("findBookings after cursor", () -> bookingRepository.findBookings(
+                BookingSpecifications.byItemOwner(1L)
+                        .and(BookingSpecifications.inStates(Set.of(BookingState.WAITING), now))
+                        .and(BookingSpecifications.startsBefore(PageCursor.of(now, 1L))), 0, 10));
+        queries.put("findRowById", () -> bookingRepository.findRowById(1L));
+        queries.put("findLastBookings",
+                () -> bookingRepository.findLastBookings(List.of(1L), BookingStatus.REJECTED, now));
+        queries.put("findNextBookings",
+                () -> bookingRepository.findNextBookings(List.of(1L), BookingStatus.REJECTED, now));
+        queries.put("existsOverlapping", () -> bookingRepository.existsOverlapping(1L,
+                Set.of(BookingStatus.WAITING, BookingStatus.APPROVED), now, now.plusHours(1), null));
+        queries.put("findPeriodsByItemId",
+                () -> bookingRepository.findPeriodsByItemId(1L, BookingStatus.REJECTED));
+        for (BookingTransition transition : BookingTransition.values()) {
+            queries.put("claimBookings " + transition, () -> bookingRepository.claimBookings(transition, now, 10));
+        }
+        queries.put("lockAllById", () -> itemRepository.lockAllById(List.of(1L, 2L)));
+        queries.put("findWithOwnerById", () -> itemRepository.findWithOwnerById(1L));
+        queries.put("findItemByOwnerId",
+                () -> itemRepository.findItemByOwnerId(1L, PageRequest.of(0, 10, Sort.by("id"))));
+        queries.put("findItemByOwnerIdAfter",
+                () -> itemRepository.findItemByOwnerIdAfter(1L, 1L, PageRequest.of(0, 10)));
+        queries.put("findFirstByRequestIdIn", () -> itemRepository.findFirstByRequestIdIn(List.of(1L, 2L), 20));
+        queries.put("findByItemId", () -> commentRepository.findByItemId(1L, PageRequest.of(0, 10)));
+        queries.put("findLatestByItemIdIn", () -> commentRepository.findLatestByItemIdIn(List.of(1L, 2L), 10));
+        queries.put("findByRequestorId", () -> itemRequestRepository.findByRequestorId(1L));
+        queries.put("findAllByRequestorIdNot", () -> itemRequestRepository.findAllByRequestorIdNot(1L,
+                PageRequest.of(0, 10, Sort.by("created").descending())));
+        queries.put("findAllByRequestorIdNotBefore", () -> itemRequestRepository.findAllByRequestorIdNotBefore(1L,
+                now, 1L, PageRequest.of(0, 10)));
+        queries.put("findDtosAfter", () -> userRepository.findDtosAfter(1L, PageRequest.of(0, 10)));
+
+        for (Map.Entry<String, Runnable> query : queries.entrySet()) {
+            STATEMENTS.clear();
+            query.getValue().run();
+            assertFalse(STATEMENTS.isEmpty(), query.getKey());
+            for (String sql : STATEMENTS) {
+                String plan = explain(sql);
+                assertFalse(plan.contains(".tableScan"), query.getKey() + " scans whole table:\n" + plan);
+            }
+        }
+    }
+
+    // Поиск по подстроке '%text%' H2 иначе как перебором ITEMS не выполнит: триграммных индексов в нём нет.
+    // В PostgreSQL эти условия обслуживают частичные GIN-индексы из V3, здесь проверяется остальная часть плана
+    @Test
+    void searchQueries_thenScanOnlyItemsOnH2() {
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("search", () -> itemRepository.search("item1", PageRequest.of(0, 10)));
+        queries.put("searchAvailable", () -> itemRepository.searchAvailable("item1", now, now.plusHours(1),
+                Set.of(BookingStatus.WAITING, BookingStatus.APPROVED), PageRequest.of(0, 10)));
+
+        for (Map.Entry<String, Runnable> query : queries.entrySet()) {
+            STATEMENTS.clear();
+            query.getValue().run();
+            assertFalse(STATEMENTS.isEmpty(), query.getKey());
+            for (String sql : STATEMENTS) {
+                String plan = explain(sql);
+                Set<String> scanned = new HashSet<>();
+                Matcher matcher = TABLE_SCAN.matcher(plan);
+                while (matcher.find()) {
+                    scanned.add(matcher.group(1));
+                }
+                assertEquals(Set.of("ITEMS"), scanned, query.getKey() + " scans unexpected tables:\n" + plan);
+            }
+        }
+    }
+
+    @Test
+    void postgresqlMigrations_thenIndexSearchPredicates() throws java.io.IOException {
+        String migration = StreamUtils.copyToString(new ClassPathResource(
+                "db/migration/postgresql/V3__postgresql_indexes.sql").getInputStream(), StandardCharsets.UTF_8);
+
+        assertTrue(migration.contains("ON ITEMS USING gin (upper(name) gin_trgm_ops) WHERE is_available"), migration);
+        assertTrue(migration.contains("ON ITEMS USING gin (upper(description) gin_trgm_ops) WHERE is_available"),
+                migration);
+    }
+
+    @Test
+    void findBookings_whenParametersDiffer_thenReuseStatementText() {
+        List<String> statements = new ArrayList<>();
+        for (long userId : List.of(1L, 2L)) {
+            STATEMENTS.clear();
+            bookingRepository.findBookings(BookingSpecifications.byItemOwner(userId)
+                    .and(BookingSpecifications.inStates(Set.of(BookingState.WAITING, BookingState.CURRENT),
+                            now.plusHours(userId))), 0, 10);
+            statements.add(STATEMENTS.get(0));
+        }
+
+        assertEquals(statements.get(0), statements.get(1));
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((java.sql.Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                bindParameters(statement, sql);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+
+    private void bindParameters(PreparedStatement statement, String sql) throws java.sql.SQLException {
+        ParameterMetaData parameters = statement.getParameterMetaData();
+        List<Integer> escapes = escapeParameters(sql);
+        for (int i = 1; i <= parameters.getParameterCount(); i++) {
+            if (escapes.contains(i)) {
+                statement.setString(i, "\\");
+                continue;
+            }
+            switch (parameters.getParameterType(i)) {
+                case Types.TIMESTAMP:
+                    statement.setObject(i, now);
+                    break;
+                case Types.VARCHAR:
+                case Types.CHAR:
+                    statement.setString(i, BookingStatus.WAITING.name());
+                    break;
+                default:
+                    statement.setLong(i, 1L);
+            }
+        }
+    }
+
+    private static List<Integer> escapeParameters(String sql) {
+        List<Integer> escapes = new ArrayList<>();
+        int index = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            if (sql.charAt(i) == '?') {
+                index++;
+                if (sql.substring(0, i).trim().toLowerCase().endsWith("escape")) {
+                    escapes.add(index);
+                }
+            }
+        }
+        return escapes;
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+
+    }
+
+}
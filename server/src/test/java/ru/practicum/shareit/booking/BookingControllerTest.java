@@ -14,18 +14,22 @@ import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.util.BookingPhase;
 import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.dashboard.dto.OwnerDashboardDto;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.PageCursor;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -123,6 +127,23 @@ class BookingControllerTest {
 		assertEquals(objectMapper.writeValueAsString(bookingResponse), result);
 	}
 
+	@SneakyThrows
+	@Test
+	void createBookings_thenReturnCreatedBookings() {
+		BookingDto bookingDto = BookingMapper.toBookingDto(booking);
+		BookingResponse bookingResponse = BookingMapper.toBookingResponse(booking);
+		when(bookingService.saveBookings(1L, List.of(bookingDto, bookingDto)))
+				.thenReturn(List.of(bookingResponse, bookingResponse));
+
+		mockMvc.perform(post(url + "/batch")
+				.contentType("application/json")
+				.header("X-Sharer-User-Id", 1)
+				.content(objectMapper.writeValueAsString(List.of(bookingDto, bookingDto))))
+				.andDo(print())
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(2)));
+	}
+
 	@SneakyThrows
 	@Test
 	void createBooking_whenUserIdNotFound_thenReturnObjectNotFound() {
@@ -301,6 +322,65 @@ class BookingControllerTest {
 				.andExpect(jsonPath("$.size()", is(1)));
 	}
 
+	@SneakyThrows
+	@Test
+	void getBookingsPresentUser_whenOffsetPageIsFull_thenReturnNoCursor() {
+		BookingResponse bookingResponse = BookingMapper.toBookingResponse(booking);
+		when(bookingService.getAllUsersBookingByState(1L, "ALL", 1, 1))
+				.thenReturn(List.of(bookingResponse));
+		mockMvc.perform(get(url)
+				.header("X-Sharer-User-Id", 1)
+				.param("from", "1")
+				.param("size", "1"))
+				.andDo(print())
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist(PageCursor.NEXT_CURSOR_HEADER))
+				.andExpect(jsonPath("$[0].id", is(1)));
+	}
+
+	@SneakyThrows
+	@Test
+	void getBookingsPresentUser_whenAfterIsEmpty_thenStartSeekAndReturnNextCursor() {
+		BookingResponse bookingResponse = BookingMapper.toBookingResponse(booking);
+		when(bookingService.getUsersBookingsAfter(1L, "ALL", null, 1))
+				.thenReturn(List.of(bookingResponse));
+		mockMvc.perform(get(url)
+				.header("X-Sharer-User-Id", 1)
+				.param("size", "1")
+				.param("after", ""))
+				.andDo(print())
+				.andExpect(status().isOk())
+				.andExpect(header().string(PageCursor.NEXT_CURSOR_HEADER,
+						PageCursor.of(bookingResponse.getStart(), bookingResponse.getId()).encode()));
+	}
+
+	@SneakyThrows
+	@Test
+	void getBookingsPresentUser_whenPageIsFull_thenReturnNextCursor() {
+		BookingResponse bookingResponse = BookingMapper.toBookingResponse(booking);
+		PageCursor cursor = PageCursor.of(bookingResponse.getStart(), bookingResponse.getId());
+		when(bookingService.getUsersBookingsAfter(1L, "ALL", cursor, 1))
+				.thenReturn(List.of(bookingResponse));
+		mockMvc.perform(get(url)
+				.header("X-Sharer-User-Id", 1)
+				.param("size", "1")
+				.param("after", cursor.encode()))
+				.andDo(print())
+				.andExpect(status().isOk())
+				.andExpect(header().string(PageCursor.NEXT_CURSOR_HEADER, cursor.encode()))
+				.andExpect(jsonPath("$[0].id", is(1)));
+	}
+
+	@SneakyThrows
+	@Test
+	void getBookingsPresentUser_whenCursorIsMalformed_thenReturnBadRequest() {
+		mockMvc.perform(get(url)
+				.header("X-Sharer-User-Id", 1)
+				.param("after", "not-a-cursor"))
+				.andDo(print())
+				.andExpect(status().isBadRequest());
+	}
+
 	@SneakyThrows
 	@Test
 	void getBookingsPresentUser_whenStateFail_ReturnBadRequest() {
@@ -348,6 +428,26 @@ class BookingControllerTest {
 				.andExpect(jsonPath("$.size()", is(1)));
 	}
 
+	@SneakyThrows
+	@Test
+	void getOwnerSummary_thenReturnDashboard() {
+		OwnerDashboardDto dashboard = OwnerDashboardDto.builder()
+				.ownerId(1L)
+				.statuses(Map.of(BookingStatus.WAITING, 2L))
+				.phases(Map.of(BookingPhase.UPCOMING, 2L))
+				.items(3)
+				.comments(1)
+				.build();
+		when(bookingService.getOwnerDashboard(1L)).thenReturn(dashboard);
+		mockMvc.perform(get(url + "/owner/summary")
+				.header("X-Sharer-User-Id", 1))
+				.andDo(print())
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.statuses.WAITING", is(2)))
+				.andExpect(jsonPath("$.phases.UPCOMING", is(2)))
+				.andExpect(jsonPath("$.items", is(3)));
+	}
+
 	@SneakyThrows
 	@Test
 	void getBookingsAllItemPresentUser_whenStateWrong_ReturnNotFound() {
@@ -0,0 +1,295 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingRow;
+import ru.practicum.shareit.booking.dto.ClaimedBooking;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.util.BookingPhase;
+import ru.practicum.shareit.booking.util.BookingState;
+import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.booking.util.BookingTransition;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.PageCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BookingRepositoryTest {
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    User owner;
+
+    User booker;
+
+    Item item;
+
+    Item otherItem;
+
+    LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now();
+
+        owner = userRepository.save(User.builder()
+                .email("owner@mail.ru")
+                .name("Owner")
+                .build());
+
+        booker = userRepository.save(User.builder()
+                .email("booker@mail.ru")
+                .name("Booker")
+                .build());
+
+        item = itemRepository.save(Item.builder()
+                .name("Equipment")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+
+        otherItem = itemRepository.save(Item.builder()
+                .name("Other")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    private Booking saveBooking(Item bookedItem, LocalDateTime start, BookingStatus status) {
+        return bookingRepository.save(Booking.builder()
+                .item(bookedItem)
+                .booker(booker)
+                .start(start)
+                .end(start.plusHours(1))
+                .status(status)
+                .build());
+    }
+
+    @Test
+    void findLastBookings_thenReturnLatestStartedNotRejectedBookingPerItem() {
+        saveBooking(item, now.minusDays(3), BookingStatus.APPROVED);
+        Booking last = saveBooking(item, now.minusDays(2), BookingStatus.APPROVED);
+        saveBooking(item, now.minusDays(1), BookingStatus.REJECTED);
+        saveBooking(item, now.plusDays(1), BookingStatus.WAITING);
+        Booking otherLast = saveBooking(otherItem, now.minusDays(5), BookingStatus.WAITING);
+
+        List<BookingDto> bookings = bookingRepository.findLastBookings(List.of(item.getId(), otherItem.getId()),
+                BookingStatus.REJECTED, now);
+
+        assertEquals(2, bookings.size());
+        assertEquals(Set.of(last.getId(), otherLast.getId()),
+                bookings.stream().map(BookingDto::getId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void findNextBookings_thenReturnEarliestFutureNotRejectedBookingPerItem() {
+        saveBooking(item, now.minusDays(1), BookingStatus.APPROVED);
+        saveBooking(item, now.plusDays(1), BookingStatus.REJECTED);
+        Booking next = saveBooking(item, now.plusDays(2), BookingStatus.WAITING);
+        saveBooking(item, now.plusDays(3), BookingStatus.APPROVED);
+
+        List<BookingDto> bookings = bookingRepository.findNextBookings(List.of(item.getId(), otherItem.getId()),
+                BookingStatus.REJECTED, now);
+
+        assertEquals(1, bookings.size());
+        assertEquals(next.getId(), bookings.get(0).getId());
+    }
+
+    @Test
+    void findBookings_whenCursorGiven_thenSeekByStartAndId() {
+        LocalDateTime start = now.withNano(0);
+        Booking older = saveBooking(item, start.minusDays(1), BookingStatus.WAITING);
+        Booking first = saveBooking(item, start, BookingStatus.WAITING);
+        Booking second = saveBooking(otherItem, start, BookingStatus.WAITING);
+        saveBooking(otherItem, start, BookingStatus.REJECTED);
+
+        Specification<Booking> waiting = BookingSpecifications.byItemOwner(owner.getId())
+                .and(BookingSpecifications.inStates(Set.of(BookingState.WAITING), now));
+
+        assertEquals(List.of(second.getId(), first.getId()), bookingRepository.findBookings(waiting, 0, 2)
+                .stream().map(BookingRow::getId).collect(Collectors.toList()));
+        assertEquals(List.of(first.getId(), older.getId()), bookingRepository.findBookings(
+                waiting.and(BookingSpecifications.startsBefore(PageCursor.of(start, second.getId()))), 0, 10)
+                .stream().map(BookingRow::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void bookingPages_thenLoadAssociationsInSingleStatementForAnyPageSize() {
+        IntStream.range(0, 20).forEach(i -> {
+            User itemOwner = userRepository.save(User.builder()
+                    .email("owner" + i + "@mail.ru")
+                    .name("Owner")
+                    .build());
+            Item ownedItem = itemRepository.save(Item.builder()
+                    .name("Item")
+                    .description("description")
+                    .available(true)
+                    .owner(i % 2 == 0 ? owner : itemOwner)
+                    .build());
+            saveBooking(ownedItem, now.minusDays(i), BookingStatus.WAITING);
+        });
+
+        List<Specification<Booking>> specifications = List.of(
+                BookingSpecifications.byBooker(booker.getId()),
+                BookingSpecifications.byBooker(booker.getId())
+                        .and(BookingSpecifications.inStates(Set.of(BookingState.PAST, BookingState.WAITING), now)),
+                BookingSpecifications.byItemOwner(owner.getId()),
+                BookingSpecifications.byItemOwner(owner.getId())
+                        .and(BookingSpecifications.inStates(Set.of(BookingState.WAITING), now)));
+
+        for (Specification<Booking> specification : specifications) {
+            for (int size : List.of(1, 5, 20)) {
+                assertEquals(1, countStatements(() -> bookingRepository.findBookings(specification, 0, size)
+                        .forEach(BookingMapper::toBookingResponse)));
+            }
+        }
+    }
+
+    @Test
+    void findBookings_whenSeveralStates_thenReturnUnionOfStates() {
+        Booking past = saveBooking(item, now.minusDays(3), BookingStatus.APPROVED);
+        Booking waiting = saveBooking(item, now.plusDays(1), BookingStatus.WAITING);
+        saveBooking(item, now.plusDays(2), BookingStatus.APPROVED);
+        Booking rejected = saveBooking(item, now.plusDays(3), BookingStatus.REJECTED);
+
+        List<BookingRow> bookings = bookingRepository.findBookings(BookingSpecifications.byBooker(booker.getId())
+                .and(BookingSpecifications.inStates(Set.of(BookingState.PAST, BookingState.WAITING,
+                        BookingState.REJECTED), now)), 0, 10);
+
+        assertEquals(List.of(rejected.getId(), waiting.getId(), past.getId()),
+                bookings.stream().map(BookingRow::getId).collect(Collectors.toList()));
+        assertEquals(List.of(waiting.getId()), bookingRepository.findBookings(BookingSpecifications
+                .byBooker(booker.getId())
+                .and(BookingSpecifications.inStates(Set.of(BookingState.PAST, BookingState.WAITING,
+                        BookingState.REJECTED), now)), 1, 1)
+                .stream().map(BookingRow::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void findBookings_whenPhaseIsNotAdvancedYet_thenClassifyByTime() {
+        Booking past = saveBooking(item, now.minusDays(3), BookingStatus.APPROVED);
+        Booking current = saveBooking(item, now.minusMinutes(30), BookingStatus.APPROVED);
+        past.setPhase(BookingPhase.UPCOMING);
+        current.setPhase(BookingPhase.UPCOMING);
+        entityManager.flush();
+
+        assertEquals(List.of(past.getId()), findIds(BookingState.PAST));
+        assertEquals(List.of(current.getId()), findIds(BookingState.CURRENT));
+        assertTrue(findIds(BookingState.FUTURE).isEmpty());
+    }
+
+    @Test
+    void claimBookings_thenReturnOnlyDueBookings() {
+        Booking stale = saveBooking(item, now.minusMinutes(30), BookingStatus.WAITING);
+        Booking finished = saveBooking(otherItem, now.minusDays(1), BookingStatus.APPROVED);
+        Booking future = saveBooking(item, now.plusDays(1), BookingStatus.WAITING);
+        stale.setPhase(BookingPhase.UPCOMING);
+        finished.setPhase(BookingPhase.ACTIVE);
+        entityManager.flush();
+
+        assertEquals(List.of(new ClaimedBooking(stale.getId(), item.getId())),
+                bookingRepository.claimBookings(BookingTransition.EXPIRE_WAITING, now, 10));
+        assertEquals(List.of(new ClaimedBooking(finished.getId(), otherItem.getId())),
+                bookingRepository.claimBookings(BookingTransition.FINISH, now, 10));
+        assertEquals(List.of(stale.getId()), bookingRepository.claimBookings(BookingTransition.START, now, 10)
+                .stream().map(ClaimedBooking::getId).collect(Collectors.toList()));
+        assertEquals(BookingPhase.UPCOMING, future.getPhase());
+    }
+
+    @Test
+    void findById_thenLoadAssociationsInSingleStatement() {
+        Booking booking = saveBooking(item, now.plusDays(1), BookingStatus.WAITING);
+
+        assertEquals(1, countStatements(() -> bookingRepository.findById(booking.getId())
+                .map(BookingMapper::toBookingResponse)));
+    }
+
+    @Test
+    void findRowById_thenSelectResponseColumnsWithoutLoadingEntities() {
+        Booking booking = saveBooking(item, now.plusDays(1), BookingStatus.WAITING);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BookingRow row = bookingRepository.findRowById(booking.getId()).orElseThrow();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(item.getName(), row.getItemName());
+        assertEquals(owner.getId(), row.getOwnerId());
+        assertEquals(booker.getEmail(), row.getBookerEmail());
+        assertNull(row.getRequestId());
+    }
+
+    @Test
+    void saveAll_thenInsertBookingsInBatches() {
+        List<Booking> bookings = IntStream.range(0, 100)
+                .mapToObj(i -> Booking.builder()
+                        .item(i % 2 == 0 ? item : otherItem)
+                        .booker(booker)
+                        .start(now.plusDays(i))
+                        .end(now.plusDays(i).plusHours(1))
+                        .status(BookingStatus.WAITING)
+                        .build())
+                .collect(Collectors.toList());
+
+        long statements = countStatements(() -> {
+            bookingRepository.saveAll(bookings);
+            entityManager.flush();
+        });
+
+        assertTrue(statements <= 5, "statements: " + statements);
+        assertEquals(100, bookingRepository.count());
+    }
+
+    private List<Long> findIds(BookingState state) {
+        return bookingRepository.findBookings(BookingSpecifications.byBooker(booker.getId())
+                        .and(BookingSpecifications.inStates(Set.of(state), now)), 0, 10)
+                .stream().map(BookingRow::getId).collect(Collectors.toList());
+    }
+
+    private long countStatements(Runnable runnable) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        runnable.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+}
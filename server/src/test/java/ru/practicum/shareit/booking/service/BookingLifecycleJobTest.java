@@ -0,0 +1,132 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.util.BookingPhase;
+import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.booking.util.BookingTransition;
+import ru.practicum.shareit.dashboard.dto.OwnerDashboardDto;
+import ru.practicum.shareit.dashboard.service.OwnerDashboardCounters;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {"shareit.bookings.lifecycle.batch-size=2",
+        "shareit.bookings.lifecycle.expire-waiting-after=30m"})
+@Import({BookingLifecycleJob.class, ItemAvailabilityIndex.class, OwnerDashboardCounters.class})
+class BookingLifecycleJobTest {
+
+    @Autowired
+    BookingLifecycleJob lifecycleJob;
+
+    @Autowired
+    OwnerDashboardCounters dashboardCounters;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    User owner;
+
+    User booker;
+
+    Item item;
+
+    LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        owner = entityManager.persist(User.builder().name("Owner").email("owner@mail.ru").build());
+        booker = entityManager.persist(User.builder().name("Booker").email("booker@mail.ru").build());
+        item = entityManager.persist(Item.builder().name("Drill").description("description").available(true)
+                .owner(owner).build());
+    }
+
+    @Test
+    void run_thenRejectStaleWaitingAndAdvancePhases() {
+        Booking stale = persist(now.minusHours(1), now.plusHours(1), BookingStatus.WAITING);
+        Booking recent = persist(now.minusMinutes(10), now.plusHours(1), BookingStatus.WAITING);
+        Booking finished = persist(now.minusDays(2), now.minusDays(1), BookingStatus.APPROVED);
+        Booking future = persist(now.plusDays(1), now.plusDays(2), BookingStatus.WAITING);
+
+        lifecycleJob.run();
+        entityManager.clear();
+
+        assertEquals(BookingStatus.REJECTED, reload(stale).getStatus());
+        assertEquals(BookingPhase.ACTIVE, reload(stale).getPhase());
+        assertEquals(BookingStatus.WAITING, reload(recent).getStatus());
+        assertEquals(BookingPhase.FINISHED, reload(finished).getPhase());
+        assertEquals(BookingStatus.WAITING, reload(future).getStatus());
+        assertEquals(BookingPhase.UPCOMING, reload(future).getPhase());
+    }
+
+    @Test
+    void process_thenWorkThroughAllChunks() {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            bookings.add(persist(now.minusDays(i + 1), now.minusDays(i), BookingStatus.APPROVED));
+        }
+
+        assertEquals(5, lifecycleJob.process(BookingTransition.FINISH, now));
+        entityManager.clear();
+
+        for (Booking booking : bookings) {
+            assertEquals(BookingPhase.FINISHED, reload(booking).getPhase());
+        }
+        assertEquals(0, lifecycleJob.process(BookingTransition.FINISH, now));
+    }
+
+    @Test
+    void run_thenMoveDashboardCounters() {
+        dashboardCounters.bookingsCreated(List.of(
+                persist(now.minusHours(1), now.plusHours(1), BookingStatus.WAITING),
+                persist(now.minusDays(2), now.minusDays(1), BookingStatus.APPROVED),
+                persist(now.plusDays(1), now.plusDays(2), BookingStatus.WAITING)));
+
+        lifecycleJob.run();
+        entityManager.flush();
+        entityManager.clear();
+
+        OwnerDashboardDto dashboard = dashboardCounters.getDashboard(owner.getId());
+        assertEquals(1, dashboard.getStatuses().get(BookingStatus.WAITING).intValue());
+        assertEquals(1, dashboard.getStatuses().get(BookingStatus.REJECTED).intValue());
+        assertEquals(1, dashboard.getStatuses().get(BookingStatus.APPROVED).intValue());
+        assertEquals(1, dashboard.getPhases().get(BookingPhase.UPCOMING).intValue());
+        assertEquals(1, dashboard.getPhases().get(BookingPhase.ACTIVE).intValue());
+        assertEquals(1, dashboard.getPhases().get(BookingPhase.FINISHED).intValue());
+    }
+
+    @Test
+    void isWaitingExpired_thenApplyGracePeriodAfterStart() {
+        assertTrue(lifecycleJob.isWaitingExpired(now.minusHours(1), now));
+        assertFalse(lifecycleJob.isWaitingExpired(now.minusMinutes(10), now));
+    }
+
+    private Booking persist(LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return entityManager.persistAndFlush(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(status)
+                .phase(BookingPhase.UPCOMING)
+                .build());
+    }
+
+    private Booking reload(Booking booking) {
+        return entityManager.find(Booking.class, booking.getId());
+    }
+
+}
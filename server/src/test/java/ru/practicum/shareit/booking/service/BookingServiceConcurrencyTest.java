@@ -0,0 +1,241 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.util.BookingPhase;
+import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.booking.util.BookingTransition;
+import ru.practicum.shareit.dashboard.dto.OwnerDashboardDto;
+import ru.practicum.shareit.dashboard.service.OwnerDashboardCounters;
+import ru.practicum.shareit.exception.BookingConflictException;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.EntityLookup;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:booking-concurrency;LOCK_TIMEOUT=30000")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BookingServiceImpl.class, BookingLifecycleJob.class, EntityLookup.class, ItemAvailabilityIndex.class, OwnerDashboardCounters.class,
+        SimpleMeterRegistry.class})
+class BookingServiceConcurrencyTest {
+
+    private static final int ATTEMPTS = 200;
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    BookingServiceImpl bookingService;
+
+    @Autowired
+    BookingLifecycleJob lifecycleJob;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+    User owner;
+
+    List<User> bookers;
+
+    Item item;
+
+    @BeforeEach
+    void setUp() {
+        long seed = System.nanoTime();
+        owner = userRepository.save(User.builder().name("owner").email("owner" + seed + "@mail.ru").build());
+        bookers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            bookers.add(userRepository.save(User.builder().name("booker" + i)
+                    .email("booker" + i + "-" + seed + "@mail.ru").build()));
+        }
+        item = itemRepository.save(Item.builder().name("hot item").description("description").available(true)
+                .owner(owner).build());
+    }
+
+    @Test
+    void saveBooking_whenManyBookersRaceForOneItem_thenActiveBookingsNeverOverlap() throws Exception {
+        Random random = new Random(42);
+        List<Callable<Void>> attempts = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            LocalDateTime start = base.plusHours(random.nextInt(48));
+            BookingDto bookingDto = BookingDto.builder()
+                    .itemId(item.getId())
+                    .start(start)
+                    .end(start.plusHours(1 + random.nextInt(4)))
+                    .build();
+            Long bookerId = bookers.get(i % bookers.size()).getId();
+            attempts.add(() -> {
+                bookingService.saveBooking(bookerId, bookingDto);
+                return null;
+            });
+        }
+
+        Outcome outcome = race(attempts);
+
+        List<Booking> saved = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getItem().getId().equals(item.getId()))
+                .collect(Collectors.toList());
+        assertTrue(outcome.errors.isEmpty(), outcome.errors.toString());
+        assertTrue(outcome.conflicts.get() > 0);
+        assertEquals(ATTEMPTS - outcome.conflicts.get(), saved.size());
+        assertNoOverlap(saved);
+        OwnerDashboardDto dashboard = bookingService.getOwnerDashboard(owner.getId());
+        assertEquals(saved.size(), dashboard.getStatuses().get(BookingStatus.WAITING).intValue());
+        assertEquals(saved.size(), dashboard.getPhases().get(BookingPhase.UPCOMING).intValue());
+    }
+
+    @Test
+    void updateBookingStatus_whenOwnerApprovesOverlappingBookingsConcurrently_thenApproveOnlyOne() throws Exception {
+        List<Booking> waiting = new ArrayList<>();
+        for (User booker : bookers) {
+            waiting.add(Booking.builder().item(item).booker(booker).status(BookingStatus.WAITING)
+                    .start(base).end(base.plusHours(2)).build());
+        }
+        bookingRepository.saveAll(waiting);
+        List<Callable<Void>> approvals = waiting.stream()
+                .map(booking -> (Callable<Void>) () -> {
+                    bookingService.updateBookingStatus(owner.getId(), booking.getId(), true);
+                    return null;
+                })
+                .collect(Collectors.toList());
+
+        Outcome outcome = race(approvals);
+
+        long approved = bookingRepository.findAllById(waiting.stream().map(Booking::getId).collect(Collectors.toList()))
+                .stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .count();
+        assertTrue(outcome.errors.isEmpty(), outcome.errors.toString());
+        assertEquals(1, approved);
+        assertEquals(waiting.size() - 1, outcome.conflicts.get());
+    }
+
+    @Test
+    void updateBookingStatus_whenOwnerAndLifecycleJobDecideConcurrently_thenCountersMatchBookings() throws Exception {
+        LocalDateTime past = base.minusDays(10);
+        List<BookingDto> bookingDtos = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            bookingDtos.add(BookingDto.builder()
+                    .itemId(item.getId())
+                    .start(past.plusHours(2L * i))
+                    .end(past.plusHours(2L * i + 1))
+                    .build());
+        }
+        List<BookingResponse> created = bookingService.saveBookings(bookers.get(0).getId(), bookingDtos);
+        List<Callable<Void>> decisions = new ArrayList<>();
+        for (BookingResponse booking : created) {
+            for (boolean approved : new boolean[]{true, false}) {
+                decisions.add(() -> {
+                    try {
+                        bookingService.updateBookingStatus(owner.getId(), booking.getId(), approved);
+                    } catch (IllegalArgumentException e) {
+                        // Планировщик уже отклонил просроченную бронь
+                    }
+                    return null;
+                });
+            }
+        }
+        for (int i = 0; i < 4; i++) {
+            decisions.add(() -> {
+                lifecycleJob.process(BookingTransition.EXPIRE_WAITING, LocalDateTime.now());
+                return null;
+            });
+        }
+
+        Outcome outcome = race(decisions);
+
+        OwnerDashboardDto dashboard = bookingService.getOwnerDashboard(owner.getId());
+        assertTrue(outcome.errors.isEmpty(), outcome.errors.toString());
+        for (BookingStatus status : BookingStatus.values()) {
+            Long actual = jdbcTemplate.queryForObject("select count(*) from BOOKINGS where item_id = ? and status = ?",
+                    Long.class, item.getId(), status.name());
+            assertEquals(actual, dashboard.getStatuses().get(status), status.name());
+        }
+    }
+
+    private Outcome race(List<Callable<Void>> tasks) throws InterruptedException {
+        Outcome outcome = new Outcome();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (Callable<Void> task : tasks) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    task.call();
+                } catch (BookingConflictException e) {
+                    outcome.conflicts.incrementAndGet();
+                } catch (Exception e) {
+                    outcome.errors.add(e);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+        return outcome;
+    }
+
+    private static void assertNoOverlap(List<Booking> bookings) {
+        for (int i = 0; i < bookings.size(); i++) {
+            for (int j = i + 1; j < bookings.size(); j++) {
+                Booking first = bookings.get(i);
+                Booking second = bookings.get(j);
+                assertFalse(first.getStart().isBefore(second.getEnd()) && second.getStart().isBefore(first.getEnd()),
+                        "Пересекаются бронирования " + first.getId() + " и " + second.getId());
+            }
+        }
+    }
+
+    private static class Outcome {
+
+        final AtomicInteger conflicts = new AtomicInteger();
+
+        final Queue<Exception> errors = new ConcurrentLinkedQueue<>();
+
+    }
+
+}
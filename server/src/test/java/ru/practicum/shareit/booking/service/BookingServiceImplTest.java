@@ -1,27 +1,34 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.dashboard.service.OwnerDashboardCounters;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.EntityLookup;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingRow;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.exception.BookingConflictException;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.exception.ValidateStateException;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -40,7 +47,15 @@ class BookingServiceImplTest {
     @Mock
     BookingRepository bookingRepository;
     @Mock
-    UserRepository userRepository;
+    EntityLookup entityLookup;
+    @Mock
+    ItemAvailabilityIndex availabilityIndex;
+    @Spy
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Mock
+    OwnerDashboardCounters dashboardCounters;
+    @Mock
+    BookingLifecycleJob lifecycleJob;
 
     @InjectMocks
     BookingServiceImpl bookingService;
@@ -54,8 +69,6 @@ class BookingServiceImplTest {
     Item item;
 
     ItemRequest itemRequest;
-    Sort sort = Sort.by(Sort.Direction.DESC, "start");
-    PageRequest page = PageRequest.of(0, 1, sort);
 
     @BeforeEach
     void setUp() {
@@ -97,149 +110,58 @@ class BookingServiceImplTest {
 
     @Test
     void getBookingsPresentUser_WhenBookingHasDifferentState_thenReturnBooking() {
-        int from = 0;
-        int size = 1;
         long userId = booker.getId();
-        when(userRepository.findById(userId)).thenReturn(Optional.of(owner));
-
-        // All
-        when(bookingRepository.findByBookerIdOrderByStartDesc(userId, page)).thenReturn(List.of(booking));
-        Collection<BookingResponse> bookingResponses = bookingService.getAllUsersBookingByState(userId, "ALL", from, size);
-
-        assertNotNull(bookingResponses);
-        assertEquals(1, bookingResponses.size());
-        assertEquals(booking.getId(), bookingResponses.stream().map(BookingResponse::getId).collect(Collectors.toList()).get(0));
-
-        // CURRENT
-        booking.setEnd(LocalDateTime.now().plusMinutes(60));
-
-        when(bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(anyLong(), any(), any(), any()))
-                .thenReturn(List.of(booking));
-
-        bookingResponses = bookingService.getAllUsersBookingByState(userId, "CURRENT", from, size);
-
-        assertNotNull(bookingResponses);
-        assertEquals(1, bookingResponses.size());
-
-        // PAST
-        when(bookingRepository.findByBookerIdAndEndIsBeforeOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(List.of(booking));
-
-        bookingResponses = bookingService.getAllUsersBookingByState(userId, "PAST", from, size);
-
-        assertNotNull(bookingResponses);
-        assertEquals(1, bookingResponses.size());
+        when(entityLookup.checkUser(userId)).thenReturn(userId);
+        when(bookingRepository.findBookings(any(), anyInt(), anyInt())).thenReturn(List.of(row(booking)));
 
-        // FUTURE
-        booking.setStart(LocalDateTime.now().plusSeconds(60));
+        for (String state : List.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "rejected", "WAITING,CURRENT")) {
+            Collection<BookingResponse> bookingResponses = bookingService.getAllUsersBookingByState(userId, state, 0, 1);
 
-        when(bookingRepository.findByBookerIdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(List.of(booking));
+            assertEquals(List.of(booking.getId()),
+                    bookingResponses.stream().map(BookingResponse::getId).collect(Collectors.toList()));
+        }
+        verify(bookingRepository, times(7)).findBookings(any(), eq(0), eq(1));
 
-        bookingResponses = bookingService.getAllUsersBookingByState(userId, "FUTURE", from, size);
-
-        assertNotNull(bookingResponses);
-        assertEquals(1, bookingResponses.size());
-
-        // WAITING
-        booking.setStatus(BookingStatus.WAITING);
-
-        when(bookingRepository.findByBookerIdAndStatusOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(List.of(booking));
-
-        bookingResponses = bookingService.getAllUsersBookingByState(userId, "WAITING", from, size);
-
-        assertNotNull(bookingResponses);
-        assertEquals(1, bookingResponses.size());
-
-        // REJECTED
-        booking.setStatus(BookingStatus.REJECTED);
-
-        bookingResponses = bookingService.getAllUsersBookingByState(userId, "REJECTED", from, size);
-
-        assertNotNull(bookingResponses);
-        assertEquals(1, bookingResponses.size());
-
-        // WRONG
         String error = "Unknown state: UNSUPPORTED_STATUS";
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                () -> bookingService.getAllUsersBookingByState(userId, "Unknown state: UNSUPPORTED_STATUS", from, size));
+                () -> bookingService.getAllUsersBookingByState(userId, "Unknown state: UNSUPPORTED_STATUS", 0, 1));
         assertEquals(error, exception.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.getAllUsersBookingByState(userId, "WAITING,WRONG", 0, 1));
     }
 
     @Test
     void getAllBookingsForItemsOfUser_thenReturnBookings() {
         long userId = owner.getId();
+        when(entityLookup.checkUser(userId)).thenReturn(userId);
+        when(bookingRepository.findBookings(any(), anyInt(), anyInt())).thenReturn(List.of(row(booking)));
 
-        // ALL
-        when(bookingRepository.findByItemOwnerIdOrderByStartDesc(userId, page)).thenReturn(List.of(booking));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(owner));
+        Collection<BookingResponse> bookings = bookingService.getAllBookingsForItemsOfUser(userId, "PAST,FUTURE", 5, 2);
 
-        Collection<BookingResponse> bookings = bookingService.getAllBookingsForItemsOfUser(userId, "ALL", 0, 1);
-
-        assertNotNull(bookings);
-        assertEquals(1, bookings.size());
-        assertEquals(booking.getId(), bookings.stream().map(BookingResponse::getId).collect(Collectors.toList()).get(0));
-
-        // PAST
-        when(bookingRepository.findByItemOwnerIdAndEndIsBeforeOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(List.of(booking));
-
-        bookings = bookingService.getAllBookingsForItemsOfUser(userId, "PAST", 0, 1);
-
-        assertNotNull(bookings);
-        assertEquals(1, bookings.size());
-
-        // FUTURE
-        booking.setStart(LocalDateTime.now().plusSeconds(60));
-        when(bookingRepository.findByItemOwnerIdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(List.of(booking));
-
-        bookings = bookingService.getAllBookingsForItemsOfUser(userId, "FUTURE", 0, 1);
-
-        assertNotNull(bookings);
-        assertEquals(1, bookings.size());
-
-        // CURRENT
-        booking.setEnd(LocalDateTime.now().plusSeconds(120));
-        when(bookingRepository.findByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(anyLong(), any(), any(), any()))
-                .thenReturn(List.of(booking));
-
-        bookings = bookingService.getAllBookingsForItemsOfUser(userId, "CURRENT", 0, 1);
-
-        assertNotNull(bookings);
-        assertEquals(1, bookings.size());
-
-        // WAITING
-        booking.setStatus(BookingStatus.WAITING);
-        when(bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(anyLong(), any(), any())).thenReturn(List.of(booking));
-
-        bookings = bookingService.getAllBookingsForItemsOfUser(userId, "WAITING", 0, 1);
-
-        assertNotNull(bookings);
         assertEquals(1, bookings.size());
+        verify(bookingRepository).findBookings(any(), eq(4), eq(2));
+        assertEquals(1, meterRegistry.get(BookingServiceImpl.QUERY_METRIC)
+                .tag("state", "PAST,FUTURE")
+                .tag("role", "owner")
+                .timer().count());
+
+        assertThrows(ValidateStateException.class,
+                () -> bookingService.getAllBookingsForItemsOfUser(userId, "UNSUPPORTED_STATUS", 0, 1));
+    }
 
-        // REJECTED
-        booking.setStatus(BookingStatus.REJECTED);
-        when(bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(anyLong(), any(), any())).thenReturn(List.of(booking));
-
-        bookings = bookingService.getAllBookingsForItemsOfUser(userId, "REJECTED", 0, 1);
-
-        assertNotNull(bookings);
-        assertEquals(1, bookings.size());
+    @Test
+    void getUsersBookingsAfter_whenCursorHasNoPosition_thenThrowIllegalArgument() {
+        when(entityLookup.checkUser(booker.getId())).thenReturn(booker.getId());
 
-        // Wrong State
-        String error = "Unknown state: UNSUPPORTED_STATUS";
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                () -> bookingService.getAllUsersBookingByState(userId, "Unknown state: UNSUPPORTED_STATUS", 0, 1));
-        assertEquals(error, exception.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.getUsersBookingsAfter(booker.getId(), "ALL", PageCursor.of(1L), 10));
     }
 
     @Test
     void getBookingByIdWithBooker_thenReturnBookingDto() {
         long bookerId = owner.getId();
         long bookingId = booking.getId();
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findRowById(bookingId)).thenReturn(Optional.of(row(booking)));
         BookingResponse bookings = bookingService.getBookingById(bookerId, bookingId);
         assertNotNull(bookings);
         assertEquals(booking.getId(), bookings.getId());
@@ -250,7 +172,7 @@ class BookingServiceImplTest {
         long userId = booker.getId();
         long bookingId = booking.getId();
         booker.setId(3223L);
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findRowById(bookingId)).thenReturn(Optional.of(row(booking)));
         String error = "Запрашиваемая информация доступна только владельцу";
         ObjectNotFoundException exception = assertThrows(ObjectNotFoundException.class,
                 () -> bookingService.getBookingById(userId, bookingId));
@@ -263,26 +185,28 @@ class BookingServiceImplTest {
 
         BookingDto bookingDto = BookingMapper.toBookingDto(booking);
 
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
-        when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
+        when(itemRepository.lockAllById(List.of(item.getId()))).thenReturn(List.of(item));
+        when(entityLookup.getUser(bookerId)).thenReturn(booker);
         BookingResponse bookingResponse = bookingService.saveBooking(bookerId, bookingDto);
 
         assertNotNull(bookingResponse);
         assertEquals(booking.getId(), bookingResponse.getId());
+        verify(dashboardCounters, times(1)).bookingsCreated(any());
     }
 
     @Test
-    void createBooking_whenItemNotAvailable_thenReturnObjectNotFoundException() {
-        item.setAvailable(false);
+    void createBooking_whenLockedItemNotAvailable_thenThrowIllegalArgument() {
+        Item locked = Item.builder().id(item.getId()).name(item.getName()).description(item.getDescription())
+                .available(false).owner(owner).build();
         long bookerId = booker.getId();
-        long itemId = item.getId();
         BookingDto bookingDto = BookingMapper.toBookingDto(booking);
+        when(itemRepository.lockAllById(List.of(item.getId()))).thenReturn(List.of(locked));
 
-        String error = String.format("Предмет с id = %d не найден.", itemId);
-
-        ObjectNotFoundException ex = assertThrows(ObjectNotFoundException.class,
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
                 () -> bookingService.saveBooking(bookerId, bookingDto));
-        assertEquals(error, ex.getMessage());
+        assertEquals("Предмет не доступен для бронироавния", ex.getMessage());
+        verify(entityLookup, never()).getItem(any());
+        verify(bookingRepository, never()).save(any());
     }
 
     @Test
@@ -290,25 +214,114 @@ class BookingServiceImplTest {
         BookingDto bookingDto = BookingMapper.toBookingDto(booking);
         UserDto owner = UserMapper.toUserDto(booker);
         String error = String.format("Предмет с id = %d не найден.", item.getId());
+        when(itemRepository.lockAllById(List.of(item.getId()))).thenReturn(List.of());
 
         ObjectNotFoundException exception = assertThrows(ObjectNotFoundException.class,
                 () -> bookingService.saveBooking(owner.getId(), bookingDto));
         assertEquals(error, exception.getMessage());
     }
 
+    @Test
+    void saveBookings_thenLoadItemsOnceAndSaveAll() {
+        long bookerId = booker.getId();
+        BookingDto first = BookingMapper.toBookingDto(booking);
+        BookingDto second = BookingMapper.toBookingDto(booking);
+        second.setStart(booking.getEnd());
+        second.setEnd(booking.getEnd().plusHours(1));
+        when(entityLookup.getUser(bookerId)).thenReturn(booker);
+        when(itemRepository.lockAllById(Set.of(item.getId()))).thenReturn(List.of(item));
+
+        List<BookingResponse> responses = bookingService.saveBookings(bookerId, List.of(first, second));
+
+        assertEquals(2, responses.size());
+        assertEquals(BookingStatus.WAITING, responses.get(0).getStatus());
+        verify(entityLookup, never()).getItem(any());
+        verify(bookingRepository, times(1)).saveAll(any());
+    }
+
+    @Test
+    void createBooking_whenPeriodIsTaken_thenThrowConflict() {
+        long bookerId = booker.getId();
+        BookingDto bookingDto = BookingMapper.toBookingDto(booking);
+        when(itemRepository.lockAllById(List.of(item.getId()))).thenReturn(List.of(item));
+        when(entityLookup.getUser(bookerId)).thenReturn(booker);
+        when(bookingRepository.existsOverlapping(eq(item.getId()), any(), eq(bookingDto.getStart()),
+                eq(bookingDto.getEnd()), isNull())).thenReturn(true);
+
+        assertThrows(BookingConflictException.class, () -> bookingService.saveBooking(bookerId, bookingDto));
+        verify(itemRepository).lockAllById(List.of(item.getId()));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void saveBookings_whenBookingsInBatchOverlap_thenNothingSaved() {
+        long bookerId = booker.getId();
+        BookingDto first = BookingMapper.toBookingDto(booking);
+        BookingDto second = BookingMapper.toBookingDto(booking);
+        second.setStart(booking.getStart().plusMinutes(5));
+        when(entityLookup.getUser(bookerId)).thenReturn(booker);
+        when(itemRepository.lockAllById(Set.of(item.getId()))).thenReturn(List.of(item));
+
+        assertThrows(BookingConflictException.class,
+                () -> bookingService.saveBookings(bookerId, List.of(first, second)));
+        verify(bookingRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void saveBookings_whenOwnItem_thenNothingSaved() {
+        long ownerId = owner.getId();
+        when(entityLookup.getUser(ownerId)).thenReturn(owner);
+        when(itemRepository.lockAllById(Set.of(item.getId()))).thenReturn(List.of(item));
+
+        assertThrows(ObjectNotFoundException.class,
+                () -> bookingService.saveBookings(ownerId, List.of(BookingMapper.toBookingDto(booking))));
+        verify(bookingRepository, never()).saveAll(any());
+    }
+
     @Test
     void tryApproveBooking_thenReturnUpdatedBookingDto() {
         long userId = booker.getId();
         long bookingId = booking.getId();
         item.setOwner(booker);
         booking.setStatus(BookingStatus.WAITING);
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.lockById(bookingId)).thenReturn(Optional.of(booking));
         when(bookingRepository.save(any())).thenReturn(booking);
 
         BookingResponse bookingStatus = bookingService.updateBookingStatus(userId, bookingId, false);
 
         assertNotNull(bookingStatus);
         assertEquals(booking.getId(), bookingStatus.getId());
+        verify(dashboardCounters, times(1))
+                .bookingStatusChanged(userId, BookingStatus.WAITING, BookingStatus.REJECTED, booking.getPhase());
+    }
+
+    @Test
+    void tryApproveBooking_whenPeriodIsApprovedForOther_thenThrowConflict() {
+        long userId = owner.getId();
+        long bookingId = booking.getId();
+        booking.setStatus(BookingStatus.WAITING);
+        when(bookingRepository.lockById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.existsOverlapping(item.getId(), EnumSet.of(BookingStatus.APPROVED),
+                booking.getStart(), booking.getEnd(), bookingId)).thenReturn(true);
+
+        assertThrows(BookingConflictException.class,
+                () -> bookingService.updateBookingStatus(userId, bookingId, true));
+        assertEquals(BookingStatus.WAITING, booking.getStatus());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void tryApproveBooking_whenLifecycleJobExpiredBooking_thenThrowIllegalArgument() {
+        long userId = owner.getId();
+        long bookingId = booking.getId();
+        booking.setStatus(BookingStatus.REJECTED);
+        when(bookingRepository.lockById(bookingId)).thenReturn(Optional.of(booking));
+        when(lifecycleJob.isWaitingExpired(eq(booking.getStart()), any())).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.updateBookingStatus(userId, bookingId, true));
+        assertEquals(BookingStatus.REJECTED, booking.getStatus());
+        verify(bookingRepository, never()).save(any());
     }
 
     @Test
@@ -327,7 +340,7 @@ class BookingServiceImplTest {
         long userId = booker.getId();
         long bookingId = booking.getId();
         String error = "Вы не являетесь владельцем предмета.";
-        when(bookingRepository.findById(userId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.lockById(userId)).thenReturn(Optional.of(booking));
 
         ObjectNotFoundException exception = assertThrows(ObjectNotFoundException.class,
                 () -> bookingService.updateBookingStatus(userId, bookingId, true));
@@ -339,10 +352,19 @@ class BookingServiceImplTest {
         long userId = owner.getId();
         long bookingId = booking.getId();
         String error = String.format("Бронь с id = %d уже существует.",bookingId);
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.lockById(bookingId)).thenReturn(Optional.of(booking));
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
                 () -> bookingService.updateBookingStatus(userId, bookingId, true));
         assertEquals(error, exception.getMessage());
     }
-}
\ No newline at end of file
+
+    private BookingRow row(Booking booking) {
+        Item bookedItem = booking.getItem();
+        return new BookingRow(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                bookedItem.getId(), bookedItem.getName(), bookedItem.getDescription(), bookedItem.getAvailable(),
+                bookedItem.getOwner().getId(), bookedItem.getRequest().getId(), booking.getBooker().getId(),
+                booking.getBooker().getName(), booking.getBooker().getEmail());
+    }
+
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VirtualThreadsConfigTest {
+
+    @Test
+    void virtualThreadsProtocolHandlerCustomizer_whenTomcatPinsVirtualThreads_thenRefuseToStart() {
+        assertFalse(VirtualThreadsConfig.tomcatSupportsVirtualThreads());
+        assertThrows(IllegalStateException.class,
+                () -> new VirtualThreadsConfig().virtualThreadsProtocolHandlerCustomizer());
+    }
+
+}
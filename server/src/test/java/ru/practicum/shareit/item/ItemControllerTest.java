@@ -11,8 +11,11 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.util.BookingStatus;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.dto.AvailabilityPeriod;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBookingAndComments;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -101,6 +104,22 @@ class ItemControllerTest {
 
     }
 
+    @SneakyThrows
+    @Test
+    void createItems_thenReturnSavedItems() {
+        ItemDto itemDto = ItemMapper.toItemDto(item);
+        when(itemService.saveItems(1L, List.of(itemDto))).thenReturn(List.of(itemDto));
+
+        mockMvc.perform(post(url + "/batch")
+                        .contentType("application/json")
+                        .header("X-Sharer-User-Id", 1)
+                        .content(objectMapper.writeValueAsString(List.of(itemDto))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(itemDto.getId()), Long.class));
+    }
+
     @SneakyThrows
     @Test
     void createItem_whenHeaderIsEmpty_thenReturnInternalServerError() {
@@ -208,6 +227,66 @@ class ItemControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(commentDto)));
     }
 
+    @SneakyThrows
+    @Test
+    void getComments_thenReturnPageOfComments() {
+        CommentDto commentDto = CommentDto.builder().id(1L).text("text").itemId(1L).authorName("Java").build();
+        when(itemService.getComments(1L, 1L, 10, 5)).thenReturn(List.of(commentDto));
+
+        mockMvc.perform(get(url + "/1/comments")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("from", "10")
+                        .param("size", "5"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].text", is("text")));
+    }
+
+    @SneakyThrows
+    @Test
+    void getAvailability_thenReturnBusyAndFreePeriods() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(1);
+        ItemAvailabilityDto availability = ItemAvailabilityDto.builder()
+                .itemId(1L)
+                .from(from)
+                .to(to)
+                .busy(List.of(new AvailabilityPeriod(from, from.plusHours(2), BookingStatus.APPROVED)))
+                .free(List.of(AvailabilityPeriod.builder().start(from.plusHours(2)).end(to).build()))
+                .build();
+        when(itemService.getAvailability(1L, 1L, from, to)).thenReturn(availability);
+
+        mockMvc.perform(get(url + "/1/availability")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-02T00:00:00"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.busy", hasSize(1)))
+                .andExpect(jsonPath("$.busy[0].status", is("APPROVED")))
+                .andExpect(jsonPath("$.free[0].start", is("2030-01-01T02:00:00")))
+                .andExpect(jsonPath("$.free[0].status").doesNotExist());
+    }
+
+    @SneakyThrows
+    @Test
+    void getItemsByTextRequest_whenPeriodIsGiven_thenSearchAvailableItems() {
+        ItemDto itemDto = ItemMapper.toItemDto(item);
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+        when(itemService.getAvailableItemsDtoByRequest("drill", start, start.plusDays(2), 0, 10))
+                .thenReturn(List.of(itemDto));
+
+        mockMvc.perform(get(url + "/search")
+                        .param("text", "drill")
+                        .param("start", "2030-01-01T00:00:00")
+                        .param("end", "2030-01-03T00:00:00"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+        verify(itemService, never()).getItemsDtoByRequest(any(), anyInt(), anyInt());
+    }
+
     @SneakyThrows
     @Test
     void getItemsByTextRequest_thenReturnItem() {
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.item.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import ru.practicum.shareit.booking.dto.BookingPeriodView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.item.dto.AvailabilityPeriod;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemAvailabilityIndexTest {
+
+    @Mock
+    BookingRepository bookingRepository;
+
+    @InjectMocks
+    ItemAvailabilityIndex availabilityIndex;
+
+    LocalDateTime day = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @BeforeEach
+    void setUp() {
+        when(bookingRepository.findPeriodsByItemId(1L, BookingStatus.REJECTED)).thenReturn(List.of(
+                view(1L, day.plusHours(2), day.plusHours(4), BookingStatus.APPROVED),
+                view(2L, day.plusHours(3), day.plusHours(6), BookingStatus.WAITING),
+                view(3L, day.minusDays(3), day.plusHours(1), BookingStatus.APPROVED)));
+    }
+
+    @Test
+    void getAvailability_thenReturnOverlappingBusyPeriodsAndFreeGaps() {
+        ItemAvailabilityDto availability = availabilityIndex.getAvailability(1L, day, day.plusHours(8));
+
+        assertEquals(List.of(
+                new AvailabilityPeriod(day.minusDays(3), day.plusHours(1), BookingStatus.APPROVED),
+                new AvailabilityPeriod(day.plusHours(2), day.plusHours(4), BookingStatus.APPROVED),
+                new AvailabilityPeriod(day.plusHours(3), day.plusHours(6), BookingStatus.WAITING)),
+                availability.getBusy());
+        assertEquals(List.of(
+                new AvailabilityPeriod(day.plusHours(1), day.plusHours(2), null),
+                new AvailabilityPeriod(day.plusHours(6), day.plusHours(8), null)),
+                availability.getFree());
+    }
+
+    @Test
+    void getAvailability_whenWindowTouchesBookingBounds_thenBookingIsNotBusy() {
+        ItemAvailabilityDto availability = availabilityIndex.getAvailability(1L, day.plusHours(6), day.plusHours(7));
+
+        assertTrue(availability.getBusy().isEmpty());
+        assertEquals(List.of(new AvailabilityPeriod(day.plusHours(6), day.plusHours(7), null)),
+                availability.getFree());
+    }
+
+    @Test
+    void index_whenBookingRejected_thenFreePeriodWithoutReload() {
+        availabilityIndex.getAvailability(1L, day, day.plusHours(8));
+
+        availabilityIndex.index(booking(2L, day.plusHours(3), day.plusHours(6), BookingStatus.REJECTED));
+        availabilityIndex.index(booking(4L, day.plusHours(7), day.plusHours(9), BookingStatus.WAITING));
+        ItemAvailabilityDto availability = availabilityIndex.getAvailability(1L, day.plusHours(5), day.plusHours(8));
+
+        assertEquals(List.of(new AvailabilityPeriod(day.plusHours(7), day.plusHours(9), BookingStatus.WAITING)),
+                availability.getBusy());
+        verify(bookingRepository, times(1)).findPeriodsByItemId(1L, BookingStatus.REJECTED);
+    }
+
+    private Booking booking(Long id, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return Booking.builder().id(id).start(start).end(end).status(status)
+                .item(Item.builder().id(1L).build())
+                .build();
+    }
+
+    private BookingPeriodView view(Long id, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return new SpelAwareProxyProjectionFactory().createProjection(BookingPeriodView.class,
+                Map.of("id", id, "start", start, "end", end, "status", status));
+    }
+
+}
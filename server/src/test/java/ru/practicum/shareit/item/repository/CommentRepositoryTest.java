@@ -4,6 +4,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -12,6 +14,8 @@ import ru.practicum.shareit.user.repository.UserRepository;
 import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -72,13 +76,46 @@ class CommentRepositoryTest {
 
     @Test
     void findByItemId() {
-        List<Comment> comments = commentRepository.findByItemId(comment.getItem().getId());
-        assertEquals(1, comments.size());
+        Comment older = commentRepository.save(Comment.builder()
+                .text("Older")
+                .item(item)
+                .author(author)
+                .created(comment.getCreated().minusDays(1))
+                .build());
+
+        List<Comment> comments = commentRepository.findByItemId(item.getId(), PageRequest.of(0, 1));
+        List<Comment> nextPage = commentRepository.findByItemId(item.getId(), PageRequest.of(1, 1));
+
+        assertEquals(List.of(comment.getId()), comments.stream().map(Comment::getId).collect(Collectors.toList()));
+        assertEquals(List.of(older.getId()), nextPage.stream().map(Comment::getId).collect(Collectors.toList()));
     }
 
     @Test
-    void findByItemIdIn() {
-        List<Comment> comments = commentRepository.findByItemIdIn(List.of(item.getId()));
-        assertEquals(1, comments.size());
+    void findLatestByItemIdIn_thenReturnLimitedCommentsWithTotal() {
+        Item other = itemRepository.save(Item.builder()
+                .name("Other")
+                .owner(owner)
+                .available(true)
+                .description("description")
+                .build());
+        for (int i = 1; i <= 3; i++) {
+            commentRepository.save(Comment.builder()
+                    .text("Comment " + i)
+                    .item(other)
+                    .author(author)
+                    .created(comment.getCreated().plusHours(i))
+                    .build());
+        }
+
+        List<CommentView> comments = commentRepository.findLatestByItemIdIn(List.of(item.getId(), other.getId()), 2);
+        Map<Long, List<CommentView>> byItem = comments.stream().collect(Collectors.groupingBy(CommentView::getItemId));
+
+        assertEquals(1, byItem.get(item.getId()).size());
+        assertEquals(1L, byItem.get(item.getId()).get(0).getTotal());
+        assertEquals("Owner", byItem.get(item.getId()).get(0).getAuthorName());
+        assertEquals(2, byItem.get(other.getId()).size());
+        assertEquals(3L, byItem.get(other.getId()).get(0).getTotal());
+        assertEquals("Comment 3", byItem.get(other.getId()).get(0).getText());
+        assertEquals("Comment 2", byItem.get(other.getId()).get(1).getText());
     }
 }
\ No newline at end of file
@@ -6,6 +6,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.item.dto.RequestItemView;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -15,10 +18,14 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 class ItemRepositoryTest {
@@ -95,20 +102,82 @@ class ItemRepositoryTest {
 
 
     @Test
-    void findByRequestId() {
-        List<Item> itemList = itemRepository.findByRequestId(itemRequest.getId());
+    void findFirstByRequestIdIn_thenReturnItemColumns() {
+        List<RequestItemView> itemList = itemRepository.findFirstByRequestIdIn(List.of(itemRequest.getId()), 10);
         assertNotNull(itemList);
         assertEquals(1, itemList.size());
-        assertEquals(itemRequest.getId(), itemList.get(0).getRequest().getId());
+        assertEquals(item.getId(), itemList.get(0).getId());
+        assertEquals(item.getName(), itemList.get(0).getName());
+        assertEquals(item.getDescription(), itemList.get(0).getDescription());
+        assertEquals(true, itemList.get(0).getAvailable());
+        assertEquals(owner.getId(), itemList.get(0).getOwner());
+        assertEquals(itemRequest.getId(), itemList.get(0).getRequestId());
+        assertEquals(1L, itemList.get(0).getTotal());
     }
 
     @Test
     void search() {
-        List<Item> itemList = itemRepository.search("des", page);
+        List<Item> itemList = itemRepository.search("des", PageRequest.of(0, 1));
         assertEquals(1, itemList.size());
         assertEquals(item, itemList.get(0));
     }
 
+    @Test
+    void search_whenItemIsUnavailable_thenSkipIt() {
+        item.setAvailable(false);
+        itemRepository.save(item);
+
+        List<Item> itemList = itemRepository.search("Equip", PageRequest.of(0, 1));
+
+        assertEquals(0, itemList.size());
+    }
+
+    @Test
+    void searchAvailable_thenSkipItemsBookedInWindow() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        Item booked = itemRepository.save(Item.builder()
+                .name("Equipment booked")
+                .owner(owner)
+                .available(true)
+                .description("description")
+                .build());
+        Item rejected = itemRepository.save(Item.builder()
+                .name("Equipment rejected")
+                .owner(owner)
+                .available(true)
+                .description("description")
+                .build());
+        entityManager.persist(booking(booked, start.minusHours(1), start.plusHours(1), BookingStatus.WAITING));
+        entityManager.persist(booking(rejected, start, start.plusHours(2), BookingStatus.REJECTED));
+        entityManager.persist(booking(item, start.plusHours(2), start.plusHours(3), BookingStatus.APPROVED));
+
+        List<Item> itemList = itemRepository.searchAvailable("equipment", start, start.plusHours(2),
+                EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED), PageRequest.of(0, 10));
+
+        assertEquals(List.of(item.getId(), rejected.getId()),
+                itemList.stream().map(Item::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void search_thenRankNameMatchesFirst() {
+        Item byDescription = itemRepository.save(Item.builder()
+                .name("Drill")
+                .owner(owner)
+                .available(true)
+                .description("Equipment for walls")
+                .build());
+        Item byName = itemRepository.save(Item.builder()
+                .name("Cordless equipment")
+                .owner(owner)
+                .available(true)
+                .description("description")
+                .build());
+
+        List<Item> itemList = itemRepository.search("equipment", PageRequest.of(0, 10));
+
+        assertEquals(List.of(item, byName, byDescription), itemList);
+    }
+
     @Test
     void findItemByOwnerId() {
         List<Item> itemList = itemRepository.findItemByOwnerId(owner.getId(), page);
@@ -117,11 +186,44 @@ class ItemRepositoryTest {
     }
 
     @Test
-    void findByRequestIdIn() {
-        List<Item> itemList = itemRepository.findByRequestIdIn(List.of(itemRequest.getId()));
-        assertEquals(1, itemList.size());
+    void findItemByOwnerIdAfter_thenReturnItemsWithGreaterIds() {
+        assertEquals(List.of(item), itemRepository.findItemByOwnerIdAfter(owner.getId(), 0L, PageRequest.of(0, 10)));
+        assertTrue(itemRepository.findItemByOwnerIdAfter(owner.getId(), item.getId(), PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void findFirstByRequestIdIn_whenManyItemsForRequest_thenCapItemsPerRequestAndKeepTotal() {
+        ItemRequest otherRequest = itemRequestRepository.save(ItemRequest.builder()
+                .created(LocalDateTime.now())
+                .description("other")
+                .requestor(requester)
+                .build());
+        for (int i = 0; i < 3; i++) {
+            itemRepository.save(Item.builder().name("Item" + i).description("description").available(true)
+                    .owner(owner).request(itemRequest).build());
+        }
+        Item otherItem = itemRepository.save(Item.builder().name("Other").description("description").available(true)
+                .owner(owner).request(otherRequest).build());
+
+        List<RequestItemView> itemList = itemRepository.findFirstByRequestIdIn(
+                List.of(itemRequest.getId(), otherRequest.getId()), 2);
+
+        assertEquals(List.of(itemRequest.getId(), itemRequest.getId(), otherRequest.getId()),
+                itemList.stream().map(RequestItemView::getRequestId).collect(Collectors.toList()));
         assertEquals(item.getId(), itemList.get(0).getId());
+        assertEquals(4L, itemList.get(0).getTotal());
+        assertEquals(otherItem.getId(), itemList.get(2).getId());
+        assertEquals(1L, itemList.get(2).getTotal());
     }
 
+    private Booking booking(Item bookedItem, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return Booking.builder()
+                .item(bookedItem)
+                .booker(requester)
+                .start(start)
+                .end(end)
+                .status(status)
+                .build();
+    }
 
-}
\ No newline at end of file
+}
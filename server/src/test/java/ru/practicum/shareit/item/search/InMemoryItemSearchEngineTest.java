@@ -0,0 +1,136 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryItemSearchEngineTest {
+
+    @Mock
+    ItemRepository itemRepository;
+
+    @Mock
+    BookingRepository bookingRepository;
+
+    @InjectMocks
+    InMemoryItemSearchEngine searchEngine;
+
+    Item drill;
+
+    Item saw;
+
+    Item hammer;
+
+    @BeforeEach
+    void setUp() {
+        drill = Item.builder().id(1L).name("Дрель").description("Аккумуляторная дрель").available(true).build();
+        saw = Item.builder().id(2L).name("Пила").description("Пила для дрели не подходит").available(true).build();
+        hammer = Item.builder().id(3L).name("Молоток дрельный").description("Тяжёлый").available(true).build();
+        searchEngine.put(drill);
+        searchEngine.put(saw);
+        searchEngine.put(hammer);
+    }
+
+    @Test
+    void findIds_thenRankByNamePrefixThenNameThenDescription() {
+        assertEquals(List.of(1L, 3L, 2L), searchEngine.findIds("ДРЕЛ", 0, 10));
+    }
+
+    @Test
+    void findIds_thenApplyOffsetAndLimit() {
+        assertEquals(List.of(3L), searchEngine.findIds("ДРЕЛ", 1, 1));
+    }
+
+    @Test
+    void findIds_whenQueryIsShorterThanGram_thenScanDocuments() {
+        assertEquals(List.of(2L), searchEngine.findIds("ПИ", 0, 10));
+    }
+
+    @Test
+    void put_whenItemBecomesUnavailable_thenRemoveFromIndex() {
+        drill.setAvailable(false);
+        searchEngine.put(drill);
+
+        assertEquals(List.of(3L, 2L), searchEngine.findIds("ДРЕЛ", 0, 10));
+    }
+
+    @Test
+    void put_whenItemRenamed_thenDropOldGrams() {
+        saw.setName("Лобзик");
+        saw.setDescription("Электрический");
+        searchEngine.put(saw);
+
+        assertTrue(searchEngine.findIds("ПИЛА", 0, 10).isEmpty());
+        assertEquals(List.of(2L), searchEngine.findIds("ЛОБЗ", 0, 10));
+    }
+
+    @Test
+    void removeByOwner_thenDropOwnersItemsFromIndex() {
+        User owner = User.builder().id(7L).name("Owner").email("owner@mail.ru").build();
+        drill.setOwner(owner);
+        hammer.setOwner(owner);
+        searchEngine.put(drill);
+        searchEngine.put(hammer);
+
+        searchEngine.removeByOwner(owner.getId());
+
+        assertEquals(List.of(2L), searchEngine.findIds("ДРЕЛ", 0, 10));
+        assertTrue(searchEngine.findIds("МОЛОТОК", 0, 10).isEmpty());
+    }
+
+    @Test
+    void findAvailableIds_thenSkipBusyItemsBeforePaging() {
+        LocalDateTime start = LocalDateTime.now();
+        when(bookingRepository.findBusyItemIds(List.of(1L, 3L, 2L), ItemSearchEngine.BUSY_STATUSES,
+                start, start.plusDays(1))).thenReturn(Set.of(1L));
+
+        assertEquals(List.of(2L), searchEngine.findAvailableIds("ДРЕЛ", start, start.plusDays(1), 1, 10));
+    }
+
+    @Test
+    void findAvailableIds_whenLeadingCandidatesAreBusy_thenWalkRankedListInGrowingChunks() {
+        LocalDateTime start = LocalDateTime.now();
+        for (long id = 10; id < 1210; id++) {
+            searchEngine.put(Item.builder().id(id).name("Дрель " + id).description("").available(true).build());
+        }
+        when(bookingRepository.findBusyItemIds(anyList(), eq(ItemSearchEngine.BUSY_STATUSES), eq(start),
+                eq(start.plusDays(1)))).thenAnswer(invocation -> {
+                    List<Long> ids = invocation.getArgument(0);
+                    return ids.stream().filter(id -> id < 800).collect(Collectors.toSet());
+                });
+
+        assertEquals(List.of(800L, 801L), searchEngine.findAvailableIds("ДРЕЛЬ", start, start.plusDays(1), 0, 2));
+        verify(bookingRepository, times(2)).findBusyItemIds(anyList(), any(), any(), any());
+    }
+
+    @Test
+    void search_thenLoadItemsInRankOrder() {
+        when(itemRepository.findAllById(anyIterable())).thenReturn(List.of(saw, hammer, drill));
+
+        assertEquals(List.of(drill, hammer, saw), searchEngine.search("дрел", 0, 10));
+    }
+
+}
@@ -8,27 +8,42 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.util.BookingStatus;
+import ru.practicum.shareit.dashboard.service.OwnerDashboardCounters;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentView;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBookingAndComments;
+import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.EntityLookup;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,7 +58,13 @@ class ItemServiceImplTest {
     @Mock
     UserService userService;
     @Mock
-    UserRepository userRepository;
+    EntityLookup entityLookup;
+    @Mock
+    ItemSearchEngine itemSearchEngine;
+    @Mock
+    ItemAvailabilityIndex availabilityIndex;
+    @Mock
+    OwnerDashboardCounters dashboardCounters;
     @InjectMocks
     ItemServiceImpl itemService;
 
@@ -99,7 +120,7 @@ class ItemServiceImplTest {
     void saveItem_thenReturnSavedItemDto() {
         long userId = owner.getId();
         long itemId = item.getId();
-        when(userRepository.findById(userId)).thenReturn(Optional.ofNullable(owner));
+        when(entityLookup.getUser(userId)).thenReturn(owner);
         when(itemRepository.save(any())).thenReturn(item);
 
         ItemDto saveItemDto = ItemDto.builder()
@@ -111,14 +132,16 @@ class ItemServiceImplTest {
         assertNotNull(itemDto);
         assertEquals(itemId, itemDto.getId());
         verify(itemRepository, times(1)).save(any());
+        verify(itemSearchEngine, times(1)).index(item);
+        verify(dashboardCounters, times(1)).itemsCreated(userId, 1);
     }
 
     @Test
     void updateItem_thenReturnItemDto() {
         long userId = owner.getId();
         long itemId = item.getId();
-        when(userRepository.findById(userId)).thenReturn(Optional.ofNullable(owner));
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(entityLookup.getUser(userId)).thenReturn(owner);
+        when(entityLookup.getItem(itemId)).thenReturn(item);
 
         String newName = "nameUpdate";
         String newDescription = "newDescription";
@@ -129,8 +152,7 @@ class ItemServiceImplTest {
                 .name(newName)
                 .description(newDescription)
                 .build();
-        when(userRepository.existsById(owner.getId())).thenReturn(true);
-        when(userRepository.findById(userId)).thenReturn(Optional.ofNullable(owner));
+        when(entityLookup.getUser(userId)).thenReturn(owner);
         ItemDto itemDto = itemService.updateItem(userId, itemDtoToUpdate, itemId);
         assertNotNull(itemDto);
         assertEquals("nameUpdate", itemDto.getName());
@@ -141,10 +163,10 @@ class ItemServiceImplTest {
         long userId = booker.getId();
         long itemId = item.getId();
         UserDto bookerDto = UserMapper.toUserDto(booker);
-        when(userRepository.findById(userId)).thenReturn(Optional.ofNullable(booker));
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
-        when(bookingRepository.findTopByStatusNotLikeAndItemIdAndBookerIdOrderByEndAsc(BookingStatus.REJECTED, itemId, bookerDto.getId()))
-                .thenReturn(booking);
+        when(entityLookup.getUser(userId)).thenReturn(booker);
+        when(entityLookup.getItem(itemId)).thenReturn(item);
+        when(bookingRepository.findEarliestEndingBooking(BookingStatus.REJECTED, itemId, bookerDto.getId()))
+                .thenReturn(Optional.of(booking));
         when(commentRepository.save(any())).thenReturn(comment);
         CommentDto commentDto = CommentDto.builder().text("text").build();
 
@@ -153,6 +175,35 @@ class ItemServiceImplTest {
         assertNotNull(commentDtoOut);
         assertEquals(comment.getId(), commentDtoOut.getId());
         verify(commentRepository, times(1)).save(any());
+        verify(dashboardCounters, times(1)).commentCreated(item.getOwner().getId());
+    }
+
+    @Test
+    void saveItems_thenSaveAllAndIndexEach() {
+        long userId = owner.getId();
+        Item other = Item.builder().id(2L).name("Other").description("Other description").available(true)
+                .owner(owner).build();
+        when(entityLookup.getUser(userId)).thenReturn(owner);
+        when(itemRepository.saveAll(any())).thenReturn(List.of(item, other));
+
+        List<ItemDto> itemDtos = itemService.saveItems(userId,
+                List.of(ItemMapper.toItemDto(item), ItemMapper.toItemDto(other)));
+
+        assertEquals(List.of(item.getId(), other.getId()),
+                itemDtos.stream().map(ItemDto::getId).collect(Collectors.toList()));
+        verify(itemRepository, never()).save(any());
+        verify(itemSearchEngine, times(2)).index(any());
+        verify(dashboardCounters, times(1)).itemsCreated(userId, 2);
+    }
+
+    @Test
+    void saveItems_whenOneItemHasNoAvailable_thenThrowValidationAndSaveNothing() {
+        ItemDto incomplete = ItemDto.builder().name("Other").description("Other description").build();
+
+        assertThrows(ValidationException.class,
+                () -> itemService.saveItems(owner.getId(), List.of(ItemMapper.toItemDto(item), incomplete)));
+        verify(itemRepository, never()).saveAll(any());
+        verify(itemSearchEngine, never()).index(any());
     }
 
     @Test
@@ -160,7 +211,7 @@ class ItemServiceImplTest {
         UserDto userDto = UserMapper.toUserDto(booker);
         userService.saveUser(userDto);
         long userId = booker.getId();
-        when(userRepository.findById(booker.getId())).thenReturn(Optional.ofNullable(booker));
+        when(entityLookup.checkUser(booker.getId())).thenReturn(booker.getId());
         when(itemRepository.findItemByOwnerId(any(), any())).thenReturn(Collections.emptyList());
 
         List<ItemDtoWithBookingAndComments> itemDto = itemService.getItemDtoByUserId(userId, 0, 1);
@@ -174,35 +225,91 @@ class ItemServiceImplTest {
     void getAllItemsByUserId_thenReturnListItems() {
         long userId = owner.getId();
         PageRequest pageRequest = PageRequest.of(0, 1, Sort.by("id"));
-        when(userRepository.findById(userId)).thenReturn(Optional.ofNullable(owner));
+        when(entityLookup.checkUser(userId)).thenReturn(userId);
         when(itemRepository.findItemByOwnerId(userId, pageRequest)).thenReturn(List.of(item));
-        when(bookingRepository.findByItemOwnerIdOrderByStartDesc(userId)).thenReturn(List.of(booking));
+        when(bookingRepository.findLastBookings(eq(List.of(item.getId())), eq(BookingStatus.REJECTED), any()))
+                .thenReturn(List.of(BookingMapper.toBookingDto(booking)));
 
         List<ItemDtoWithBookingAndComments> itemOwnerDto = itemService.getItemDtoByUserId(userId, 0, 1);
 
         assertNotNull(itemOwnerDto);
         assertEquals(1, itemOwnerDto.size());
+        assertEquals(booking.getId(), itemOwnerDto.get(0).getLastBooking().getId());
+        assertNull(itemOwnerDto.get(0).getNextBooking());
     }
 
     @Test
     void getItemById_thenReturnItem() {
         long ownerId = owner.getId();
         long itemId = item.getId();
-        when(userRepository.findById(ownerId)).thenReturn(Optional.ofNullable(owner));
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
-        when(bookingRepository.findByItemId(itemId)).thenReturn(List.of(booking));
-        when(commentRepository.findByItemId(itemId)).thenReturn(List.of(comment));
+        when(entityLookup.checkUser(ownerId)).thenReturn(ownerId);
+        when(entityLookup.getItem(itemId)).thenReturn(item);
+        when(bookingRepository.findLastBookings(eq(List.of(itemId)), eq(BookingStatus.REJECTED), any()))
+                .thenReturn(List.of(BookingMapper.toBookingDto(booking)));
+        when(commentRepository.findLatestByItemIdIn(eq(List.of(itemId)), anyInt())).thenReturn(List.of(view(comment, 3)));
 
         ItemDtoWithBookingAndComments itemOwnerDto = itemService.getItemById(ownerId, itemId);
 
         assertNotNull(itemOwnerDto);
         assertEquals(itemId, itemOwnerDto.getId());
+        assertEquals(booking.getId(), itemOwnerDto.getLastBooking().getId());
         assertEquals(comment.getId(), itemOwnerDto.getComments().get(0).getId());
+        assertEquals(3L, itemOwnerDto.getCommentsCount());
+    }
+
+    @Test
+    void getComments_thenReturnPageOfComments() {
+        long userId = booker.getId();
+        long itemId = item.getId();
+        when(entityLookup.checkUser(userId)).thenReturn(userId);
+        when(entityLookup.checkItem(itemId)).thenReturn(itemId);
+        when(commentRepository.findByItemId(itemId, PageRequest.of(1, 2))).thenReturn(List.of(comment));
+
+        List<CommentDto> comments = itemService.getComments(itemId, userId, 2, 2);
+
+        assertEquals(1, comments.size());
+        assertEquals(comment.getText(), comments.get(0).getText());
+    }
+
+    @Test
+    void getItemById_whenUserIsNotOwner_thenReturnItemWithoutBookings() {
+        long bookerId = booker.getId();
+        long itemId = item.getId();
+        when(entityLookup.checkUser(bookerId)).thenReturn(bookerId);
+        when(entityLookup.getItem(itemId)).thenReturn(item);
+
+        ItemDtoWithBookingAndComments itemDto = itemService.getItemById(itemId, bookerId);
+
+        assertNull(itemDto.getLastBooking());
+        assertNull(itemDto.getNextBooking());
+        verify(bookingRepository, never()).findLastBookings(any(), any(), any());
+    }
+
+    @Test
+    void getAvailability_thenReturnCalendarFromIndex() {
+        long userId = booker.getId();
+        long itemId = item.getId();
+        LocalDateTime from = LocalDateTime.now();
+        ItemAvailabilityDto availability = ItemAvailabilityDto.builder().itemId(itemId).build();
+        when(entityLookup.checkUser(userId)).thenReturn(userId);
+        when(entityLookup.checkItem(itemId)).thenReturn(itemId);
+        when(availabilityIndex.getAvailability(itemId, from, from.plusDays(1))).thenReturn(availability);
+
+        assertSame(availability, itemService.getAvailability(itemId, userId, from, from.plusDays(1)));
+    }
+
+    @Test
+    void getAvailability_whenPeriodIsEmpty_thenThrowIllegalArgument() {
+        LocalDateTime from = LocalDateTime.now();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> itemService.getAvailability(item.getId(), booker.getId(), from, from));
+        verifyNoInteractions(availabilityIndex);
     }
 
     @Test
     void getSearchItem_thenReturnListItems() {
-        when(itemRepository.search(any(), any())).thenReturn(List.of(item));
+        when(itemSearchEngine.search("NameItem", 0, 1)).thenReturn(List.of(item));
 
         Collection<ItemDto> itemDto = itemService.getItemsDtoByRequest("NameItem", 0, 1);
 
@@ -211,6 +318,17 @@ class ItemServiceImplTest {
         assertEquals(item.getId(), new ArrayList<>(itemDto).get(0).getId());
     }
 
+    @Test
+    void getAvailableSearchItem_thenSearchWithinPeriod() {
+        LocalDateTime start = LocalDateTime.now();
+        when(itemSearchEngine.searchAvailable("NameItem", start, start.plusDays(1), 0, 1)).thenReturn(List.of(item));
+
+        Collection<ItemDto> itemDto = itemService.getAvailableItemsDtoByRequest("NameItem", start, start.plusDays(1), 0, 1);
+
+        assertEquals(1, itemDto.size());
+        verify(itemSearchEngine, never()).search(any(), anyInt(), anyInt());
+    }
+
     @Test
     void getSearchItem_thenReturnEmptyList() {
         Collection<ItemDto> listItemDto = itemService.getItemsDtoByRequest("", 0, 1);
@@ -219,4 +337,14 @@ class ItemServiceImplTest {
         assertEquals(0, listItemDto.size());
     }
 
+    private CommentView view(Comment comment, long total) {
+        return new SpelAwareProxyProjectionFactory().createProjection(CommentView.class, Map.of(
+                "id", comment.getId(),
+                "text", comment.getText(),
+                "authorName", comment.getAuthor().getName(),
+                "itemId", comment.getItem().getId(),
+                "created", comment.getCreated(),
+                "total", total));
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,157 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryBudgetIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    BookingService bookingService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    ItemAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    UserDto owner;
+
+    UserDto booker;
+
+    List<ItemDto> items;
+
+    BookingResponse booking;
+
+    // Таблицы не очищаются между тестами, поэтому у каждого прогона свои пользователи и вещи
+    @BeforeEach
+    void setUp() {
+        long seed = System.nanoTime();
+        owner = userService.saveUser(UserDto.builder().name("owner").email("owner" + seed + "@mail.ru").build());
+        booker = userService.saveUser(UserDto.builder().name("booker").email("booker" + seed + "@mail.ru").build());
+        items = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            items.add(itemService.saveItem(owner.getId(), ItemDto.builder()
+                    .name("drill" + seed).description("description " + i).available(true).build()));
+        }
+        for (ItemDto item : items) {
+            BookingResponse past = book(item, now.minusDays(3), now.minusDays(2));
+            bookingService.updateBookingStatus(owner.getId(), past.getId(), true);
+            itemService.createComment(CommentDto.builder().text("good").build(), booker.getId(), item.getId());
+            booking = book(item, now.plusDays(1), now.plusDays(2));
+            bookingService.updateBookingStatus(owner.getId(), booking.getId(), true);
+            book(item, now.plusDays(3), now.plusDays(4));
+        }
+    }
+
+    @Test
+    void budgetedEndpoints_whenCachesAreCold_thenStayWithinBudget() throws Exception {
+        double violations = budgetViolations();
+        for (MockHttpServletRequestBuilder request : budgetedRequests()) {
+            clearCaches();
+            mockMvc.perform(request).andExpect(status().isOk());
+        }
+
+        assertEquals(violations, budgetViolations());
+    }
+
+    @Test
+    void budgetedEndpoints_whenCachesAreWarm_thenStayWithinBudget() throws Exception {
+        clearCaches();
+        double violations = budgetViolations();
+        for (MockHttpServletRequestBuilder request : budgetedRequests()) {
+            mockMvc.perform(request).andExpect(status().isOk());
+            mockMvc.perform(request).andExpect(status().isOk());
+        }
+
+        assertEquals(violations, budgetViolations());
+    }
+
+    private List<MockHttpServletRequestBuilder> budgetedRequests() {
+        Long itemId = items.get(0).getId();
+        String name = items.get(0).getName();
+        return List.of(
+                get("/items/{itemId}", itemId).header("X-Sharer-User-Id", owner.getId()),
+                get("/items/{itemId}", itemId).header("X-Sharer-User-Id", booker.getId()),
+                get("/items").header("X-Sharer-User-Id", owner.getId()),
+                get("/items/{itemId}/availability", itemId).header("X-Sharer-User-Id", booker.getId())
+                        .param("from", now.toString())
+                        .param("to", now.plusDays(7).toString()),
+                get("/items/{itemId}/comments", itemId).header("X-Sharer-User-Id", booker.getId()),
+                get("/items/search").header("X-Sharer-User-Id", booker.getId())
+                        .param("text", name),
+                get("/items/search").header("X-Sharer-User-Id", booker.getId())
+                        .param("text", name)
+                        .param("start", now.plusDays(1).toString())
+                        .param("end", now.plusDays(5).toString()),
+                get("/bookings/{bookingId}", booking.getId()).header("X-Sharer-User-Id", booker.getId()),
+                get("/bookings").header("X-Sharer-User-Id", booker.getId()),
+                get("/bookings").header("X-Sharer-User-Id", booker.getId()).param("state", "FUTURE,WAITING"),
+                get("/bookings/owner").header("X-Sharer-User-Id", owner.getId()),
+                get("/bookings/owner/summary").header("X-Sharer-User-Id", owner.getId()));
+    }
+
+    private BookingResponse book(ItemDto item, LocalDateTime start, LocalDateTime end) {
+        return bookingService.saveBooking(booker.getId(), BookingDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(end)
+                .build());
+    }
+
+    private double budgetViolations() {
+        return meterRegistry.find(SqlMetricsInterceptor.BUDGET_EXCEEDED_METRIC).counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private void clearCaches() {
+        cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
+        availabilityIndex.evict(items.stream().map(ItemDto::getId).collect(Collectors.toList()));
+    }
+
+}
@@ -0,0 +1,146 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.exception.SqlBudgetExceededException;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlMetricsInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SqlMetricsInterceptor interceptor = new SqlMetricsInterceptor(meterRegistry);
+
+    private final SqlProperties properties = new SqlProperties();
+
+    private final SqlMetricsListener listener = new SqlMetricsListener(properties);
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementStats.end();
+    }
+
+    @Test
+    void afterCompletion_thenRecordStatementsAndTimeByUriPattern() {
+        MockHttpServletRequest request = request("/bookings/{bookingId}");
+
+        interceptor.preHandle(request, response, new Object());
+        listener.afterQuery(executed(3), List.of());
+        listener.afterQuery(executed(4), List.of());
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        assertEquals(2, meterRegistry.get(SqlMetricsInterceptor.STATEMENTS_METRIC)
+                .tag("uri", "/bookings/{bookingId}")
+                .tag("method", "GET")
+                .summary().totalAmount());
+        assertEquals(7, meterRegistry.get(SqlMetricsInterceptor.TIME_METRIC)
+                .tag("uri", "/bookings/{bookingId}")
+                .timer().totalTime(TimeUnit.MILLISECONDS));
+        assertTrue(SqlStatementStats.current().isEmpty());
+        assertTrue(meterRegistry.find(SqlMetricsInterceptor.BUDGET_EXCEEDED_METRIC).counters().isEmpty());
+    }
+
+    @Test
+    void afterCompletion_whenStatementTakesLessThanMillisecond_thenRecordNonZeroTime() {
+        MockHttpServletRequest request = request("/bookings/{bookingId}");
+        ExecutionInfo execInfo = executed(0);
+
+        interceptor.preHandle(request, response, new Object());
+        listener.beforeQuery(execInfo, List.of());
+        listener.afterQuery(execInfo, List.of());
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        assertTrue(meterRegistry.get(SqlMetricsInterceptor.TIME_METRIC)
+                .tag("uri", "/bookings/{bookingId}")
+                .timer().totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    void afterCompletion_whenBudgetExceeded_thenCountViolation() throws Exception {
+        MockHttpServletRequest request = request("/items");
+        HandlerMethod handler = new HandlerMethod(new BudgetedHandler(), BudgetedHandler.class.getMethod("items"));
+
+        interceptor.preHandle(request, response, handler);
+        listener.afterQuery(executed(1), List.of());
+        listener.afterQuery(executed(1), List.of());
+        listener.afterQuery(executed(1), List.of());
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertEquals(1, meterRegistry.get(SqlMetricsInterceptor.BUDGET_EXCEEDED_METRIC)
+                .tag("uri", "/items")
+                .counter().count());
+    }
+
+    @Test
+    void afterQuery_whenBudgetExceededAndFailOnExceed_thenThrowOnFirstExtraStatement() throws Exception {
+        properties.setFailOnBudgetExceeded(true);
+        HandlerMethod handler = new HandlerMethod(new BudgetedHandler(), BudgetedHandler.class.getMethod("items"));
+        interceptor.preHandle(request("/items"), response, handler);
+        listener.afterQuery(executed(1), List.of());
+        listener.afterQuery(executed(1), List.of());
+
+        SqlBudgetExceededException exception = assertThrows(SqlBudgetExceededException.class,
+                () -> listener.afterQuery(executed(1), List.of(query())));
+
+        assertTrue(exception.getMessage().contains("GET /items"));
+        assertTrue(exception.getMessage().contains("select * from items where owner_id = ? [1=7]"));
+    }
+
+    @Test
+    void describe_thenIncludeBindParameters() throws Exception {
+        assertEquals("select * from items where owner_id = ? [1=7]", SqlMetricsListener.describe(List.of(query())));
+    }
+
+    @Test
+    void afterQuery_whenNoRequestInProgress_thenNothingRecorded() {
+        listener.afterQuery(executed(5), List.of());
+
+        assertTrue(SqlStatementStats.current().isEmpty());
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+
+    private static MockHttpServletRequest request(String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+
+    private static QueryInfo query() throws NoSuchMethodException {
+        QueryInfo queryInfo = new QueryInfo("select * from items where owner_id = ?");
+        queryInfo.getParametersList().add(List.of(new ParameterSetOperation(
+                PreparedStatement.class.getMethod("setLong", int.class, long.class), new Object[]{1, 7L})));
+        return queryInfo;
+    }
+
+    private static ExecutionInfo executed(long elapsedMillis) {
+        ExecutionInfo execInfo = new ExecutionInfo();
+        execInfo.setElapsedTime(elapsedMillis);
+        return execInfo;
+    }
+
+    static class BudgetedHandler {
+
+        @QueryBudget(2)
+        public void items() {
+        }
+
+    }
+
+}
@@ -5,12 +5,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -84,4 +86,26 @@ class ItemRequestRepositoryTest {
         assertEquals(0, requests.size());
     }
 
-}
\ No newline at end of file
+    @Test
+    void findAllByRequestorIdNotBefore_thenSeekPastCursorWithTieBreakOnId() {
+        User other = userRepository.save(User.builder()
+                .name("Other")
+                .email("other@yandex.ru")
+                .build());
+        entityManager.persist(requester);
+        LocalDateTime created = LocalDateTime.now().withNano(0);
+        ItemRequest older = itemRequestRepository.save(ItemRequest.builder()
+                .created(created.minusHours(1)).description("older").requestor(requester).build());
+        ItemRequest first = itemRequestRepository.save(ItemRequest.builder()
+                .created(created).description("first").requestor(requester).build());
+        ItemRequest second = itemRequestRepository.save(ItemRequest.builder()
+                .created(created).description("second").requestor(requester).build());
+
+        List<ItemRequest> requests = itemRequestRepository.findAllByRequestorIdNotBefore(other.getId(),
+                second.getCreated(), second.getId(), PageRequest.of(0, 10));
+
+        assertEquals(List.of(first.getId(), older.getId()),
+                requests.stream().map(ItemRequest::getId).collect(Collectors.toList()));
+    }
+
+}
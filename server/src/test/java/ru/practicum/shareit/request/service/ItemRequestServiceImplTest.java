@@ -8,7 +8,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.RequestItemView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
@@ -16,12 +19,14 @@ import ru.practicum.shareit.request.dto.ItemRequestWithItems;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.EntityLookup;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -36,13 +41,13 @@ class ItemRequestServiceImplTest {
     User owner;
     Item item;
     ItemRequest request;
-    Sort sort = Sort.by(Sort.Direction.DESC, "created");
+    Sort sort = Sort.by(Sort.Direction.DESC, "created", "id");
     @Mock
     private ItemRequestRepository itemRequestRepository;
     @Mock
     private ItemRepository itemRepository;
     @Mock
-    private UserRepository userRepository;
+    private EntityLookup entityLookup;
 
     @BeforeEach
     void setUp() {
@@ -74,7 +79,7 @@ class ItemRequestServiceImplTest {
     @Test
     void saveRequest_thenReturnItemRequestDto() {
         long userId = requestor.getId();
-        when(userRepository.findById(userId)).thenReturn(Optional.of(requestor));
+        when(entityLookup.getUser(userId)).thenReturn(requestor);
         when(itemRequestRepository.save(any())).thenReturn(request);
 
         ItemRequestDto requestDto = requestService.createRequest(
@@ -89,6 +94,7 @@ class ItemRequestServiceImplTest {
     void saveRequest_whenUserNotFound_thenReturnObjectNotFoundException() {
         long userIdNotFound = 999L;
         String error = String.format("Пользователь с id = %d не найден", userIdNotFound);
+        when(entityLookup.getUser(userIdNotFound)).thenThrow(new ObjectNotFoundException(error));
         ObjectNotFoundException exception = assertThrows(
                 ObjectNotFoundException.class,
                 () -> requestService.createRequest(
@@ -102,7 +108,7 @@ class ItemRequestServiceImplTest {
     void getAllRequestsWithRequester_thenReturnListItemsRequest() {
         long userId = requestor.getId();
         when(itemRequestRepository.findByRequestorId(userId)).thenReturn(List.of(request));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(requestor));
+        when(entityLookup.checkUser(userId)).thenReturn(userId);
 
         List<ItemRequestWithItems> requests = requestService.getItemsRequestByRequestorId(userId);
 
@@ -115,9 +121,9 @@ class ItemRequestServiceImplTest {
     void getRequestWithRequesterById_thenReturnItemRequest() {
         long userId = requestor.getId();
         long requestId = request.getId();
-        when(userRepository.findById(userId)).thenReturn(Optional.of(requestor));
+        when(entityLookup.checkUser(userId)).thenReturn(userId);
         when(itemRequestRepository.findById(requestId)).thenReturn(Optional.of(request));
-        when(itemRepository.findByRequestId(requestId)).thenReturn(List.of(item));
+        when(itemRepository.findFirstByRequestIdIn(List.of(requestId), 0)).thenReturn(List.of(view(item, request, 1)));
 
         ItemRequestWithItems requestDto = requestService.getRequestById(userId, requestId);
 
@@ -127,11 +133,31 @@ class ItemRequestServiceImplTest {
         assertEquals(item.getId(), requestDto.getId());
     }
 
+    @Test
+    void getRequestsWithRequester_thenGroupItemsByRequestAndKeepTotalCount() {
+        long userId = requestor.getId();
+        ItemRequest otherRequest = ItemRequest.builder().id(2L).description("other").requestor(requestor).build();
+        Item otherItem = Item.builder().id(2L).name("other").description("other").available(true).owner(owner).build();
+        when(entityLookup.checkUser(userId)).thenReturn(userId);
+        when(itemRequestRepository.findByRequestorId(userId)).thenReturn(List.of(request, otherRequest));
+        when(itemRepository.findFirstByRequestIdIn(List.of(request.getId(), otherRequest.getId()), 0))
+                .thenReturn(List.of(view(item, request, 1), view(otherItem, otherRequest, 40)));
+
+        List<ItemRequestWithItems> requests = requestService.getItemsRequestByRequestorId(userId);
+
+        assertEquals(List.of(item.getId()), requests.get(0).getItems().stream().map(ItemDto::getId)
+                .collect(Collectors.toList()));
+        assertEquals(1L, requests.get(0).getItemsCount());
+        assertEquals(List.of(otherItem.getId()), requests.get(1).getItems().stream().map(ItemDto::getId)
+                .collect(Collectors.toList()));
+        assertEquals(40L, requests.get(1).getItemsCount());
+    }
+
     @Test
     void getRequests_thenReturnListItemRequest() {
         long userId = owner.getId();
         PageRequest page = PageRequest.of(0, 1, sort);
-        when(userRepository.findById(userId)).thenReturn(Optional.of(requestor));
+        when(entityLookup.checkUser(userId)).thenReturn(userId);
         when(itemRequestRepository.findAllByRequestorIdNot(userId, page)).thenReturn(List.of(request));
         List<ItemRequestWithItems> requestDtos = requestService.getAllRequestsByPageable(userId, 0, 1);
         assertNotNull(requestDtos);
@@ -142,11 +168,22 @@ class ItemRequestServiceImplTest {
     void getRequests_thenReturnEmptyList() {
         long userId = requestor.getId();
         PageRequest page = PageRequest.of(0, 1, sort);
-        when(userRepository.findById(userId)).thenReturn(Optional.of(requestor));
+        when(entityLookup.checkUser(userId)).thenReturn(userId);
         when(itemRequestRepository.findAllByRequestorIdNot(userId, page)).thenReturn(Collections.emptyList());
         List<ItemRequestWithItems> requestDtos = requestService.getAllRequestsByPageable(userId, 0, 1);
         assertNotNull(requestDtos);
         assertEquals(0, requestDtos.size());
     }
 
-}
\ No newline at end of file
+    private RequestItemView view(Item item, ItemRequest itemRequest, long total) {
+        return new SpelAwareProxyProjectionFactory().createProjection(RequestItemView.class, Map.of(
+                "id", item.getId(),
+                "name", item.getName(),
+                "description", item.getDescription(),
+                "available", item.getAvailable(),
+                "owner", item.getOwner().getId(),
+                "requestId", itemRequest.getId(),
+                "total", total));
+    }
+
+}
@@ -7,13 +7,18 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.exception.SqlBudgetExceededException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -172,6 +177,19 @@ class UserControllerTest {
         verify(userService).findUserById(999L);
     }
 
+    @SneakyThrows
+    @Test
+    void getUserById_whenSqlBudgetExceeded_thenReturnInternalServerErrorWithReason() {
+        when(userService.findUserById(1L))
+                .thenThrow(new SqlBudgetExceededException("GET /users/{userId} выполнил больше 1 SQL-запросов"));
+        mockMvc.perform(get(url + "/{id}", 1L))
+                .andDo(print())
+                .andExpectAll(status().isInternalServerError(),
+                        jsonPath("$.status", is("INTERNAL_SERVER_ERROR")),
+                        jsonPath("$.message", is("Превышен бюджет SQL-запросов: "
+                                + "GET /users/{userId} выполнил больше 1 SQL-запросов")));
+    }
+
     @Test
     void deleteUser_thenReturnOK() throws Exception {
         mockMvc.perform(delete(url + "/1"))
@@ -182,7 +200,7 @@ class UserControllerTest {
     @SneakyThrows
     @Test
     void getAllUsers_whenUserListFiledUsers_thenReturnOK() {
-        when(userService.findAllUsers()).thenReturn(List.of(user));
+        when(userService.findUsers(null, 100)).thenReturn(List.of(user));
         mockMvc.perform(get(url))
                 .andDo(print())
                 .andExpect(status().isOk())
@@ -190,20 +208,60 @@ class UserControllerTest {
                         jsonPath("$", hasSize(1)),
                         jsonPath("$[0].id", is(1)),
                         jsonPath("$[0].name", is("Java")),
-                        jsonPath("$[0].email", is("java@yandex.ru")));
-        verify(userService, times(2)).findAllUsers();
+                        jsonPath("$[0].email", is("java@yandex.ru")),
+                        header().doesNotExist(PageCursor.NEXT_CURSOR_HEADER));
+        verify(userService).findUsers(null, 100);
     }
 
     @SneakyThrows
     @Test
     void getAllUsers_whenUserListIsEmpty_thenReturnEmptyListAndStatusOK() {
-        when(userService.findAllUsers()).thenReturn(Collections.EMPTY_LIST);
+        when(userService.findUsers(null, 100)).thenReturn(Collections.emptyList());
         mockMvc.perform(get(url))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpectAll(status().isOk(),
                         jsonPath("$", hasSize(0)));
-        verify(userService, times(2)).findAllUsers();
+        verify(userService).findUsers(null, 100);
+    }
+
+    @SneakyThrows
+    @Test
+    void getAllUsers_whenPageIsFull_thenReturnNextCursor() {
+        when(userService.findUsers(PageCursor.of(5L), 1)).thenReturn(List.of(user));
+
+        mockMvc.perform(get(url)
+                        .param("size", "1")
+                        .param("after", PageCursor.of(5L).encode()))
+                .andDo(print())
+                .andExpectAll(status().isOk(),
+                        jsonPath("$", hasSize(1)),
+                        header().string(PageCursor.NEXT_CURSOR_HEADER, PageCursor.of(1L).encode()));
+    }
+
+    @SneakyThrows
+    @Test
+    void exportUsers_thenWriteOneJsonObjectPerLine() {
+        doAnswer(invocation -> {
+            Consumer<UserDto> consumer = invocation.getArgument(0);
+            consumer.accept(user);
+            consumer.accept(user2);
+            return null;
+        }).when(userService).exportUsers(any());
+
+        MvcResult result = mockMvc.perform(get(url + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertEquals(objectMapper.writeValueAsString(user) + "\n" + objectMapper.writeValueAsString(user2) + "\n",
+                body);
     }
 
-}
\ No newline at end of file
+}
@@ -6,17 +6,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.dashboard.service.OwnerDashboardCounters;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.PageCursor;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,6 +37,12 @@ class UserServiceImplTest {
     @Mock
     UserRepository userRepository;
 
+    @Mock
+    OwnerDashboardCounters dashboardCounters;
+
+    @Mock
+    ItemSearchEngine itemSearchEngine;
+
     User user;
 
     @BeforeEach
@@ -51,6 +64,7 @@ class UserServiceImplTest {
         assertEquals(user.getId(), actualUser.getId());
         verify(userRepository, times(1))
                 .save(any());
+        verify(dashboardCounters, times(1)).ownerCreated(user.getId());
 
     }
 
@@ -103,29 +117,51 @@ class UserServiceImplTest {
     }
 
     @Test
-    void getAllUsers_whenListFilled_thenReturnListUsers() {
-        when(userRepository.findAll()).thenReturn(List.of(user));
+    void findUsers_whenListFilled_thenReturnListUsers() {
+        when(userRepository.findDtosAfter(0L, PageRequest.of(0, 10))).thenReturn(List.of(UserMapper.toUserDto(user)));
 
-        Collection<UserDto> users = userService.findAllUsers();
+        Collection<UserDto> users = userService.findUsers(null, 10);
 
         assertNotNull(users);
         assertEquals(1, users.size());
     }
 
     @Test
-    void getAllUsers_whenListIsEmpty_thenReturnEmptyList() {
-        when(userRepository.findAll()).thenReturn(Collections.emptyList());
+    void findUsers_whenListIsEmpty_thenReturnEmptyList() {
+        when(userRepository.findDtosAfter(0L, PageRequest.of(0, 10))).thenReturn(Collections.emptyList());
 
-        Collection<UserDto> users = userService.findAllUsers();
+        Collection<UserDto> users = userService.findUsers(null, 10);
 
         assertNotNull(users);
         assertEquals(0, users.size());
     }
 
+    @Test
+    void findUsers_whenCursorGiven_thenStartAfterCursorId() {
+        when(userRepository.findDtosAfter(5L, PageRequest.of(0, 2))).thenReturn(List.of(UserMapper.toUserDto(user)));
+
+        List<UserDto> users = userService.findUsers(PageCursor.of(5L), 2);
+
+        assertEquals(List.of(UserMapper.toUserDto(user)), users);
+    }
+
+    @Test
+    void exportUsers_thenPassEveryUserAndCloseStream() {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(userRepository.streamAllDtos()).thenReturn(Stream.of(UserMapper.toUserDto(user))
+                .onClose(() -> closed.set(true)));
+        List<UserDto> exported = new ArrayList<>();
+
+        userService.exportUsers(exported::add);
+
+        assertEquals(List.of(UserMapper.toUserDto(user)), exported);
+        assertTrue(closed.get());
+    }
+
     @Test
     void getUserById_whenUserIdIsValid_thenReturnUser() {
         long userId = user.getId();
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.findDtoById(userId)).thenReturn(Optional.of(UserMapper.toUserDto(user)));
 
         UserDto user = userService.findUserById(userId);
 
@@ -137,7 +173,7 @@ class UserServiceImplTest {
     void getUserById_WhenUserNotFound_thenReturnObjectNotFoundException() {
         long userId = 999L;
         String error = String.format("Пользователь с таким id = %d не найден", userId);
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userRepository.findDtoById(userId)).thenReturn(Optional.empty());
 
         ObjectNotFoundException exception = assertThrows(ObjectNotFoundException.class,
                 () -> userService.findUserById(userId));
@@ -148,11 +184,13 @@ class UserServiceImplTest {
     @Test
     void deleteUserById() {
         UserDto userDto = UserMapper.toUserDto(user);
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(userRepository.findDtoById(user.getId())).thenReturn(Optional.of(UserMapper.toUserDto(user)));
         userService.deleteUser(userDto.getId());
         boolean exist =  userRepository.existsById(user.getId());
 
         assertFalse(exist);
+        verify(dashboardCounters, times(1)).userDeleted(user.getId());
+        verify(itemSearchEngine, times(1)).removeByOwner(user.getId());
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.util;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.dashboard.service.OwnerDashboardCounters;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.search.JpaItemSearchEngine;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@Import({CacheConfig.class, EntityLookup.class, UserServiceImpl.class, JpaItemSearchEngine.class,
+        ItemAvailabilityIndex.class, OwnerDashboardCounters.class})
+class EntityLookupTest {
+
+    @Autowired
+    EntityLookup entityLookup;
+
+    @Autowired
+    UserServiceImpl userService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    User owner;
+
+    Item item;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        owner = userRepository.save(User.builder()
+                .email("owner@mail.ru")
+                .name("Owner")
+                .build());
+        item = itemRepository.save(Item.builder()
+                .name("Equipment")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void checkUserAndItem_whenCalledTwice_thenQueryDatabaseOnce() {
+        Statistics statistics = statistics();
+
+        entityLookup.checkUser(owner.getId());
+        entityLookup.checkItem(item.getId());
+        long firstCall = statistics.getPrepareStatementCount();
+        entityLookup.checkUser(owner.getId());
+        entityLookup.checkItem(item.getId());
+
+        assertEquals(2, firstCall);
+        assertEquals(firstCall, statistics.getPrepareStatementCount());
+        assertEquals(1, ((CaffeineCache) cacheManager.getCache(CacheConfig.USERS)).getNativeCache().stats().hitCount());
+    }
+
+    @Test
+    void checkUser_whenNotFound_thenNothingCached() {
+        assertThrows(ObjectNotFoundException.class, () -> entityLookup.checkUser(999L));
+        assertFalse(((CaffeineCache) cacheManager.getCache(CacheConfig.USERS)).getNativeCache().asMap()
+                .containsKey(999L));
+    }
+
+    @Test
+    void getUserAndItem_thenNeverCacheEntities() {
+        entityLookup.checkUser(owner.getId());
+        entityLookup.checkItem(item.getId());
+        entityLookup.getUser(owner.getId());
+        entityLookup.getItem(item.getId());
+
+        // Изменение в обход сервисов, как с другого узла: кэш его не видит, сущности читаются заново
+        User renamed = userRepository.findById(owner.getId()).orElseThrow();
+        renamed.setName("Renamed");
+        Item unavailable = itemRepository.findById(item.getId()).orElseThrow();
+        unavailable.setAvailable(false);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals("Renamed", entityLookup.getUser(owner.getId()).getName());
+        assertFalse(entityLookup.getItem(item.getId()).getAvailable());
+        assertTrue(((CaffeineCache) cacheManager.getCache(CacheConfig.USERS)).getNativeCache().asMap().values()
+                .stream().allMatch(Long.class::isInstance));
+        assertTrue(((CaffeineCache) cacheManager.getCache(CacheConfig.ITEMS)).getNativeCache().asMap().values()
+                .stream().allMatch(Long.class::isInstance));
+    }
+
+    @Test
+    void deleteUser_thenEvictUserAndOwnedItems() {
+        entityLookup.checkUser(owner.getId());
+        entityLookup.checkItem(item.getId());
+
+        userService.deleteUser(owner.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThrows(ObjectNotFoundException.class, () -> entityLookup.checkUser(owner.getId()));
+        assertThrows(ObjectNotFoundException.class, () -> entityLookup.checkItem(item.getId()));
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+}